@@ -0,0 +1,48 @@
+package ru.nsu.fit.smolyakov.tree;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Tree#remove}, which scans a whole tree and removes
+ * a node in the middle of it together with its successors.
+ *
+ * <p>A tree is rebuilt before every invocation, so the single-shot
+ * mode is used and many iterations are made instead.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class TreeRemoveBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"WIDE", "DEEP", "BUSHY"})
+    TreeShape shape;
+
+    Tree<Integer> tree;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        tree = shape.build(size);
+    }
+
+    @Benchmark
+    public boolean remove() {
+        return tree.remove(size / 2);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.nsu.fit.smolyakov.tree;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures operations which walk a whole tree without changing it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class TreeScanBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"WIDE", "DEEP", "BUSHY"})
+    TreeShape shape;
+
+    Tree<Integer> tree;
+    Tree<Integer> equalTree;
+    Integer[] array;
+
+    @Setup
+    public void setup() {
+        tree = shape.build(size);
+        equalTree = shape.build(size);
+        array = new Integer[size];
+    }
+
+    @Benchmark
+    public void bfsIterator(Blackhole blackhole) {
+        var iter = tree.bfsIterator();
+        while (iter.hasNext()) {
+            blackhole.consume(iter.next());
+        }
+    }
+
+    @Benchmark
+    public void dfsIterator(Blackhole blackhole) {
+        var iter = tree.dfsIterator();
+        while (iter.hasNext()) {
+            blackhole.consume(iter.next());
+        }
+    }
+
+    // the value is absent, so the whole tree is scanned
+    @Benchmark
+    public boolean contains() {
+        return tree.contains(-1);
+    }
+
+    // hashes of both trees are cached after the first call,
+    // so this measures the structural comparison
+    @Benchmark
+    public boolean equals() {
+        return tree.equals(equalTree);
+    }
+
+    @Benchmark
+    public Object[] toArray() {
+        return tree.toArray();
+    }
+
+    @Benchmark
+    public Integer[] toArrayPresized() {
+        return tree.toArray(array);
+    }
+}
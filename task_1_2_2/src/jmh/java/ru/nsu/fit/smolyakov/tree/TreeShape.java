@@ -0,0 +1,60 @@
+package ru.nsu.fit.smolyakov.tree;
+
+/**
+ * Shapes of trees the benchmarks are run on.
+ * Every node of a tree holds its own index as a value.
+ */
+public enum TreeShape {
+    /**
+     * All nodes are children of auxiliary root node.
+     */
+    WIDE {
+        @Override
+        Tree<Integer> build(int size) {
+            var tree = new Tree<Integer>();
+            for (int i = 0; i < size; i++) {
+                tree.addNode(i);
+            }
+            return tree;
+        }
+    },
+
+    /**
+     * Every node is the only child of the previous one.
+     */
+    DEEP {
+        @Override
+        Tree<Integer> build(int size) {
+            var tree = new Tree<Integer>();
+            if (size == 0) {
+                return tree;
+            }
+
+            var node = tree.addNode(0);
+            for (int i = 1; i < size; i++) {
+                node = tree.addNode(node, i);
+            }
+            return tree;
+        }
+    },
+
+    /**
+     * Every node has up to 8 children, nodes are added level by level.
+     */
+    BUSHY {
+        @Override
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        Tree<Integer> build(int size) {
+            var tree = new Tree<Integer>();
+            Node<Integer>[] nodes = new Node[size];
+            for (int i = 0; i < size; i++) {
+                nodes[i] = (i == 0) 
+                    ? tree.addNode(i) 
+                    : tree.addNode(nodes[(i - 1) / 8], i);
+            }
+            return tree;
+        }
+    };
+
+    abstract Tree<Integer> build(int size);
+}
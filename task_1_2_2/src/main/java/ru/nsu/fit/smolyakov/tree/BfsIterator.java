@@ -6,26 +6,61 @@ import java.util.Deque;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 /**
- * An iterator over a tree, which is ordered by breadth-first search.
+ * An iterator over a subtree, which is ordered by breadth-first search.
  * Removing elements during iteration is not allowed!
  * 
+ * <p>If a filter is specified, nodes whose values are rejected by it
+ * are skipped together with all their successors.
+ * 
  * @see java.util.Iterator
  */
 class BfsIterator<T> implements Iterator<T> {
-    private Long iteratorModified = System.currentTimeMillis();
+    private long iteratorModified = System.currentTimeMillis();
     private AtomicLong lastModified;
 
-    private Deque<Node<T>> queue = new ArrayDeque<>();
+    // Instead of enqueuing every node, only parents are enqueued,
+    // and their children are walked by an index cursor
+    private Deque<Node<T>> parents = new ArrayDeque<>();
+    private Node<T> parent;
+    private int childId = 0;
+
+    private Predicate<? super T> filter;
 
-    boolean currRemoved = true;
-    Node<T> current = null;
+    private Node<T> current = null;
+    private Node<T> currParent;
+    private int currId;
+    private boolean currEnqueued = false;
 
     // May be instantiated only by Tree<T>.iterator()
     BfsIterator(Node<T> root, AtomicLong lastModified) {
+        this(root, lastModified, (val) -> true);
+    }
+
+    BfsIterator(Node<T> root, AtomicLong lastModified, Predicate<? super T> filter) {
         this.lastModified = lastModified;
-        queue.addAll(root.getChildren());
+        this.parent = root;
+        this.filter = filter;
+    }
+
+    // moves the cursor to the next accepted node, if there is one
+    private void skipRejected() {
+        while (true) {
+            while (childId < parent.getChildCount()) {
+                if (filter.test(parent.getChild(childId).getValue())) {
+                    return;
+                }
+                childId++;
+            }
+
+            if (parents.isEmpty()) {
+                return;
+            }
+            parent = parents.poll();
+            childId = 0;
+        }
     }
 
     /**
@@ -37,7 +72,8 @@ class BfsIterator<T> implements Iterator<T> {
      */
     @Override
     public boolean hasNext() {
-        return !queue.isEmpty();
+        skipRejected();
+        return childId < parent.getChildCount();
     } 
 
     /**
@@ -50,17 +86,22 @@ class BfsIterator<T> implements Iterator<T> {
      */
     @Override
     public T next() throws NoSuchElementException {
-        if (lastModified.get() > iteratorModified.longValue()) {
+        if (lastModified.get() > iteratorModified) {
             throw new ConcurrentModificationException("modification outside iterator is prohibited");
         }
         if (!hasNext()) {
             throw new NoSuchElementException("No more items");
         }
 
-        currRemoved = false;
+        currParent = parent;
+        currId = childId;
+        current = parent.getChild(childId++);
+
+        currEnqueued = current.getChildCount() > 0;
+        if (currEnqueued) {
+            parents.add(current);
+        }
 
-        current = queue.poll();
-        queue.addAll(current.getChildren());
         return current.getValue();
     }
 
@@ -75,16 +116,21 @@ class BfsIterator<T> implements Iterator<T> {
      */
     @Override
     public void remove() throws IllegalStateException {
-        if (currRemoved) {
+        if (current == null) {
             throw new IllegalStateException("amount of calls of next() is not equal to 1");
         } else {
-            for (int i = 0; i < current.getChildCount(); i++) {
-                queue.removeLast();
+            // hasNext() may have already dequeued the current node
+            if (parent == current) {
+                childId = current.getChildCount();
+            } else if (currEnqueued) {
+                parents.removeLast();
             }
 
-            current.getParent().removeChild(current);
+            currParent.removeChild(currId);
+            if (parent == currParent) {
+                childId--;
+            }
             current = null;
-            currRemoved = true;
 
             iteratorModified = System.currentTimeMillis();
             lastModified.set(iteratorModified);
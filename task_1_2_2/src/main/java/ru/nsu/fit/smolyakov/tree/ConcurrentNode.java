@@ -0,0 +1,63 @@
+package ru.nsu.fit.smolyakov.tree;
+
+/**
+ * Implemented for the joint use with class {@link ConcurrentTree}.
+ * May be instantiated only and if only it's returned by
+ * {@link ConcurrentTree#addNode} method.
+ *
+ * <p>Children of a node are published as an immutable array, which is
+ * replaced as a whole on every change, so readers never block. Writers
+ * changing children of the same node are serialized by the monitor
+ * of this node.
+ */
+public class ConcurrentNode<T> {
+    @SuppressWarnings("rawtypes")
+    private static final ConcurrentNode[] NO_CHILDREN = new ConcurrentNode[0];
+
+    private final ConcurrentTree<T> proprietor;
+    private final ConcurrentNode<T> parent;
+    private final T value;
+
+    @SuppressWarnings("unchecked")
+    private volatile ConcurrentNode<T>[] children = NO_CHILDREN;
+
+    // guarded by this
+    private boolean detached = false;
+
+    ConcurrentNode(ConcurrentTree<T> proprietor, ConcurrentNode<T> parent, T value) {
+        this.proprietor = proprietor;
+        this.parent = parent;
+        this.value = value;
+    }
+
+    ConcurrentTree<T> getProprietor() {
+        return proprietor;
+    }
+
+    ConcurrentNode<T> getParent() {
+        return parent;
+    }
+
+    T getValue() {
+        return value;
+    }
+
+    ConcurrentNode<T>[] getChildren() {
+        return children;
+    }
+
+    // must be called holding the monitor of this node
+    boolean isDetached() {
+        return detached;
+    }
+
+    // must be called holding the monitor of this node
+    void setDetached() {
+        detached = true;
+    }
+
+    // must be called holding the monitor of this node
+    void setChildren(ConcurrentNode<T>[] children) {
+        this.children = children;
+    }
+}
@@ -0,0 +1,372 @@
+package ru.nsu.fit.smolyakov.tree;
+
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread-safe variant of {@link Tree}, optimized for the case
+ * when the tree is read by many threads and changed rarely.
+ *
+ * <p>Reads never block: children of every node are published as
+ * an immutable array, which is copied and replaced on every change
+ * of this node (copy-on-write). Writers are serialized per node,
+ * so additions to different nodes proceed in parallel.
+ *
+ * <p>Iterators are weakly consistent: they never throw
+ * {@link java.util.ConcurrentModificationException}, traverse each
+ * node at most once and may reflect modifications made after
+ * their creation.
+ *
+ * <p>Just like {@link Tree}, an auxiliary root node without value
+ * is created while initializing, and null-values are not allowed.
+ *
+ * @see Tree
+ * @see ConcurrentNode
+ */
+public class ConcurrentTree<T> extends AbstractCollection<T> {
+    private final AtomicInteger size = new AtomicInteger();
+    private final ConcurrentNode<T> root = new ConcurrentNode<>(this, null, null);
+
+    /**
+     * Constructs a new tree with an empty root node.
+     */
+    public ConcurrentTree() {}
+
+    /**
+     * Adds an element with specified {@code value} to this tree
+     * as a successor of root.
+     *
+     * @return true
+     * @throws IllegalArgumentException  if value is null
+     */
+    @Override
+    public boolean add(T value) throws IllegalArgumentException {
+        addNode(value);
+        return true;
+    }
+
+    /**
+     * The same as {@link #add} method, but return value for this
+     * is a reference to new node.
+     *
+     * @param  value  a value to add
+     * @return a reference to new node
+     * @throws IllegalArgumentException  if value is null
+     */
+    public ConcurrentNode<T> addNode(T value) throws IllegalArgumentException {
+        return addNode(root, value);
+    }
+
+    /**
+     * Adds an element with specified {@code value} to this tree
+     * as a successor of specified node.
+     *
+     * @param  where  a parent node
+     * @param  value  a value to add
+     * @return a reference to new node
+     * @throws IllegalArgumentException  if value is null, or if the node
+     *                                   doesn't belong the tree or is removed
+     */
+    public ConcurrentNode<T> addNode(ConcurrentNode<T> where, T value)
+        throws IllegalArgumentException {
+        if (value == null) {
+            throw new IllegalArgumentException("Nulls are not allowed");
+        } else if (where.getProprietor() != this) {
+            throw new IllegalArgumentException("This node doesn't belong the tree");
+        }
+
+        var newNode = new ConcurrentNode<T>(this, where, value);
+        synchronized (where) {
+            if (where.isDetached()) {
+                throw new IllegalArgumentException("This node is removed from the tree");
+            }
+
+            var children = where.getChildren();
+            var newChildren = Arrays.copyOf(children, children.length + 1);
+            newChildren[children.length] = newNode;
+            where.setChildren(newChildren);
+
+            size.incrementAndGet();
+        }
+
+        return newNode;
+    }
+
+    /**
+     * Removes a specified node with all its successors from this tree.
+     *
+     * @param  node  a node to remove
+     * @return true if the node is removed, false if it has been already
+     *         removed or doesn't belong the tree
+     */
+    public boolean removeNode(ConcurrentNode<T> node) {
+        var parent = node.getParent();
+        if (node.getProprietor() != this || parent == null) {
+            return false;
+        }
+
+        synchronized (parent) {
+            // if the parent is detached, the node is (or will be)
+            // counted by the thread which has removed the parent
+            if (parent.isDetached()) {
+                return false;
+            }
+
+            var children = parent.getChildren();
+            int id = indexOf(children, node);
+            if (id < 0) {
+                return false;
+            }
+
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            ConcurrentNode<T>[] newChildren = new ConcurrentNode[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, id);
+            System.arraycopy(children, id + 1, newChildren, id, newChildren.length - id);
+            parent.setChildren(newChildren);
+        }
+
+        detach(node);
+        return true;
+    }
+
+    private static int indexOf(Object[] array, Object obj) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == obj) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Marks all nodes of an unlinked subtree as detached, so no more nodes
+    // can be added to them, and excludes them from the size of this tree
+    private void detach(ConcurrentNode<T> subtreeRoot) {
+        int count = 0;
+
+        Deque<ConcurrentNode<T>> stack = new ArrayDeque<>();
+        stack.push(subtreeRoot);
+        while (!stack.isEmpty()) {
+            var node = stack.pop();
+            ConcurrentNode<T>[] children;
+
+            synchronized (node) {
+                node.setDetached();
+                children = node.getChildren();
+            }
+
+            count++;
+            for (var child : children) {
+                stack.push(child);
+            }
+        }
+
+        size.addAndGet(-count);
+    }
+
+    /**
+     * Removes all elements of this tree equal to {@code obj}.
+     * All successors of removed elements are also removed.
+     *
+     * @param  obj  an object to remove
+     * @return true if at least one element of this tree
+     *         is removed, false otherwise
+     */
+    @Override
+    public boolean remove(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+
+        boolean removed = false;
+
+        var iter = iterator();
+        while (iter.hasNext()) {
+            if (iter.next().equals(obj)) {
+                iter.remove();
+                removed = true;
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Removes all nodes, except for auxiliary root node.
+     */
+    @Override
+    public void clear() {
+        ConcurrentNode<T>[] children;
+        synchronized (root) {
+            children = root.getChildren();
+            root.setChildren(Arrays.copyOf(children, 0));
+        }
+
+        for (var child : children) {
+            detach(child);
+        }
+    }
+
+    /**
+     * Returns amount of elements in a tree, exclusive of auxiliary root node.
+     *
+     * @return amount of elements in a tree
+     */
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements of
+     * this tree in breadth-first search order.
+     * Empty root node is not evolved.
+     *
+     * <p>This method is a wrapper for {@link #bfsIterator} method.
+     *
+     * @return an iterator over the elements in BFS order
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return bfsIterator();
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements of
+     * this tree in breadth-first search order.
+     * Empty root node is not evolved.
+     *
+     * @return an iterator over the elements in BFS order
+     */
+    public Iterator<T> bfsIterator() {
+        return new ConcurrentBfsIterator();
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements of
+     * this tree in depth-first search order, the same as
+     * {@link Tree#dfsIterator} has.
+     * Empty root node is not evolved.
+     *
+     * @return an iterator over the elements in DFS order
+     */
+    public Iterator<T> dfsIterator() {
+        return new ConcurrentDfsIterator();
+    }
+
+    /**
+     * Creates a weakly consistent {@link Spliterator}
+     * over the elements in this tree in BFS order.
+     *
+     * @return a spliterator over the elements in this tree
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+            Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+
+    // Iterates over snapshots of children arrays taken
+    // at the moment their parent is visited
+    private class ConcurrentBfsIterator implements Iterator<T> {
+        private final Deque<ConcurrentNode<T>[]> queue = new ArrayDeque<>();
+        private ConcurrentNode<T>[] siblings = root.getChildren();
+        private int id = 0;
+
+        private ConcurrentNode<T> last = null;
+
+        @Override
+        public boolean hasNext() {
+            return id < siblings.length || !queue.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more items");
+            }
+
+            if (id >= siblings.length) {
+                siblings = queue.poll();
+                id = 0;
+            }
+
+            last = siblings[id++];
+            var children = last.getChildren();
+            if (children.length > 0) {
+                queue.add(children);
+            }
+
+            return last.getValue();
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException("amount of calls of next() is not equal to 1");
+            }
+
+            removeNode(last);
+            last = null;
+        }
+    }
+
+    private class ConcurrentDfsIterator implements Iterator<T> {
+        private final Deque<ConcurrentNode<T>[]> siblingsStack = new ArrayDeque<>();
+        private int[] idStack = new int[16];
+
+        private ConcurrentNode<T>[] siblings = root.getChildren();
+        private int id = 0;
+
+        private ConcurrentNode<T> last = null;
+
+        @Override
+        public boolean hasNext() {
+            return id < siblings.length || !siblingsStack.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more items");
+            }
+
+            if (id >= siblings.length) {
+                siblings = siblingsStack.pop();
+                id = idStack[siblingsStack.size()];
+            } else {
+                ConcurrentNode<T>[] children;
+                while ((children = siblings[id].getChildren()).length > 0) {
+                    int depth = siblingsStack.size();
+                    if (depth == idStack.length) {
+                        idStack = Arrays.copyOf(idStack, depth * 2);
+                    }
+                    idStack[depth] = id;
+                    siblingsStack.push(siblings);
+
+                    siblings = children;
+                    id = 0;
+                }
+            }
+
+            last = siblings[id++];
+            return last.getValue();
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException("amount of calls of next() is not equal to 1");
+            }
+
+            removeNode(last);
+            last = null;
+        }
+    }
+}
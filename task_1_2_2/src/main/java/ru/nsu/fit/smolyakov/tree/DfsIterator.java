@@ -1,31 +1,57 @@
 package ru.nsu.fit.smolyakov.tree;
 
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.Stack;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 /**
- * An iterator over a tree, which is ordered by depth-first search.
+ * An iterator over a subtree, which is ordered by depth-first search.
  * Allows to remove elements during iteration.
  * 
+ * <p>If a filter is specified, nodes whose values are rejected by it
+ * are skipped together with all their successors.
+ * 
  * @see java.util.Iterator
  */
 class DfsIterator<T> implements Iterator<T> {
-    private Long iteratorModified = System.currentTimeMillis();
+    private long iteratorModified = System.currentTimeMillis();
     private AtomicLong lastModified;
 
-    private Stack<Integer> stack = new Stack<>();
+    // indices of nodes on the path from the root of iteration
+    // to the current node in lists of their parents' children
+    private int[] stack = new int[16];
+    private int depth = 0;
+
     private Node<T> currentNode;
     private int currentId = 0;
 
+    private Predicate<? super T> filter;
+
     private boolean currRemoved = true;
+    private int currId;
     
     // May be instantiated only by Tree<T>.iterator()
     DfsIterator(Node<T> root, AtomicLong lastModified) {
+        this(root, lastModified, (val) -> true);
+    }
+
+    DfsIterator(Node<T> root, AtomicLong lastModified, Predicate<? super T> filter) {
         this.lastModified = lastModified;
         this.currentNode = root;
+        this.filter = filter;
+    }
+
+    // returns an index of the first accepted child of the node,
+    // starting from the specified one, or amount of children if there is none
+    private int firstAccepted(Node<T> node, int from) {
+        while (from < node.getChildCount()
+            && !filter.test(node.getChild(from).getValue())) {
+            from++;
+        }
+        return from;
     }
 
     /**
@@ -37,12 +63,8 @@ class DfsIterator<T> implements Iterator<T> {
      */
     @Override
     public boolean hasNext() {
-        if (currentNode.getValue() == null 
-            && currentId >= currentNode.getChildCount()) {
-            return false;
-        } else {
-            return true;
-        }
+        currentId = firstAccepted(currentNode, currentId);
+        return currentId < currentNode.getChildCount() || depth > 0;
     } 
 
     /**
@@ -55,7 +77,7 @@ class DfsIterator<T> implements Iterator<T> {
      */
     @Override
     public T next() throws NoSuchElementException {
-        if (lastModified.get() > iteratorModified.longValue()) {
+        if (lastModified.get() > iteratorModified) {
             throw new ConcurrentModificationException("modification during iteration is prohibited");
         }
         if (!hasNext()) {
@@ -66,15 +88,26 @@ class DfsIterator<T> implements Iterator<T> {
 
         if (currentId >= currentNode.getChildCount()) {
             currentNode = currentNode.getParent();
-            currentId = stack.pop();
+            currentId = stack[--depth];
         } else {
-            while (currentNode.getChild(currentId).getChildCount() > 0) {
-                currentNode = currentNode.getChild(currentId);
-                stack.push(currentId);
-                currentId = 0;
+            while (true) {
+                var child = currentNode.getChild(currentId);
+                int firstChildId = firstAccepted(child, 0);
+                if (firstChildId >= child.getChildCount()) {
+                    break;
+                }
+
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = currentId;
+
+                currentNode = child;
+                currentId = firstChildId;
             }
         }
         
+        currId = currentId;
         return currentNode.getChild(currentId++).getValue();
     }
 
@@ -92,7 +125,10 @@ class DfsIterator<T> implements Iterator<T> {
         if (currRemoved) {
             throw new IllegalStateException("amount of calls of next() is not equal to 1");
         } else {
-            currentNode.removeChild(--currentId);
+            // hasNext() may have already moved the cursor
+            // over rejected siblings of the current node
+            currentNode.removeChild(currId);
+            currentId--;
             currRemoved = true;
 
             iteratorModified = System.currentTimeMillis();
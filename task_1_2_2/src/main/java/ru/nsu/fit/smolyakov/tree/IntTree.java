@@ -0,0 +1,535 @@
+package ru.nsu.fit.smolyakov.tree;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A tree of primitive {@code int} values, which has the same
+ * traversal semantics as {@link Tree}, but doesn't create an object per node.
+ *
+ * <p>Nodes are identified by {@code int} handles. All links are stored in
+ * parallel primitive arrays (parent, first and last child, previous and next
+ * sibling, value), so a node costs 24 bytes, and nodes added one after another
+ * are located next to each other in memory. Handles of removed nodes
+ * may be reused by nodes added later.
+ *
+ * <p>Just like {@link Tree}, an auxiliary root node without value
+ * with handle {@link #ROOT} is created while initializing, and it is
+ * not evolved in iteration. Iterators are fail-fast.
+ *
+ * @see Tree
+ */
+public class IntTree implements Iterable<Integer> {
+    /**
+     * A handle of auxiliary root node.
+     */
+    public static final int ROOT = 0;
+
+    /**
+     * A handle meaning absence of a node.
+     */
+    public static final int NIL = -1;
+
+    // parent of a removed node, which is also a link in the list of free handles
+    private static final int FREE = -2;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] parent;
+    private int[] firstChild;
+    private int[] lastChild;
+    private int[] prevSibling;
+    private int[] nextSibling;
+    private int[] value;
+
+    // handles [0, allocated) have been used at least once,
+    // removed ones are linked through nextSibling
+    private int allocated = 0;
+    private int freeList = NIL;
+
+    private int size = 0;
+    private int modCount = 0;
+
+    /**
+     * Constructs a new tree with an empty root node.
+     */
+    public IntTree() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new tree with an empty root node,
+     * which can hold the specified amount of nodes without growing.
+     *
+     * @param  capacity  an expected amount of nodes
+     * @throws IllegalArgumentException  if capacity is negative
+     */
+    public IntTree(int capacity) throws IllegalArgumentException {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity is negative");
+        }
+
+        capacity++;
+        parent = new int[capacity];
+        firstChild = new int[capacity];
+        lastChild = new int[capacity];
+        prevSibling = new int[capacity];
+        nextSibling = new int[capacity];
+        value = new int[capacity];
+
+        allocate(NIL, 0);
+    }
+
+    private int allocate(int where, int val) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = nextSibling[node];
+        } else {
+            if (allocated == parent.length) {
+                grow();
+            }
+            node = allocated++;
+        }
+
+        parent[node] = where;
+        firstChild[node] = NIL;
+        lastChild[node] = NIL;
+        prevSibling[node] = NIL;
+        nextSibling[node] = NIL;
+        value[node] = val;
+        return node;
+    }
+
+    private void grow() {
+        int capacity = parent.length + (parent.length >> 1) + 1;
+        parent = Arrays.copyOf(parent, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        lastChild = Arrays.copyOf(lastChild, capacity);
+        prevSibling = Arrays.copyOf(prevSibling, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        value = Arrays.copyOf(value, capacity);
+    }
+
+    private void checkNode(int node) throws IllegalArgumentException {
+        if (node < 0 || node >= allocated || parent[node] == FREE) {
+            throw new IllegalArgumentException("This node doesn't belong the tree");
+        }
+    }
+
+    /**
+     * Adds an element with specified {@code val} to this tree
+     * as a successor of root.
+     *
+     * @param  val  a value to add
+     * @return a handle of new node
+     */
+    public int add(int val) {
+        return addNode(ROOT, val);
+    }
+
+    /**
+     * Adds an element with specified {@code val} to this tree
+     * as the last successor of specified node.
+     *
+     * @param  where  a handle of a parent node
+     * @param  val  a value to add
+     * @return a handle of new node
+     * @throws IllegalArgumentException  if the node doesn't belong the tree
+     */
+    public int addNode(int where, int val) throws IllegalArgumentException {
+        checkNode(where);
+
+        int node = allocate(where, val);
+        int last = lastChild[where];
+        if (last == NIL) {
+            firstChild[where] = node;
+        } else {
+            nextSibling[last] = node;
+            prevSibling[node] = last;
+        }
+        lastChild[where] = node;
+
+        size++;
+        modCount++;
+        return node;
+    }
+
+    /**
+     * Returns a value of specified node.
+     *
+     * @param  node  a handle of a node
+     * @return a value of the node
+     * @throws IllegalArgumentException  if the node doesn't belong the tree
+     *                                   or is the root node
+     */
+    public int getValue(int node) throws IllegalArgumentException {
+        checkNode(node);
+        if (node == ROOT) {
+            throw new IllegalArgumentException("Root node has no value");
+        }
+        return value[node];
+    }
+
+    /**
+     * Returns a parent of specified node.
+     *
+     * @param  node  a handle of a node
+     * @return a handle of the parent, or {@link #NIL} for the root node
+     * @throws IllegalArgumentException  if the node doesn't belong the tree
+     */
+    public int getParent(int node) throws IllegalArgumentException {
+        checkNode(node);
+        return parent[node];
+    }
+
+    /**
+     * Removes a specified node with all its successors from this tree.
+     *
+     * @param  node  a handle of a node to remove
+     * @throws IllegalArgumentException  if the node doesn't belong the tree
+     *                                   or is the root node
+     */
+    public void removeNode(int node) throws IllegalArgumentException {
+        checkNode(node);
+        if (node == ROOT) {
+            throw new IllegalArgumentException("Root node can't be removed");
+        }
+
+        unlink(node);
+        modCount++;
+    }
+
+    private void unlink(int node) {
+        int prev = prevSibling[node];
+        int next = nextSibling[node];
+        int owner = parent[node];
+
+        if (prev == NIL) {
+            firstChild[owner] = next;
+        } else {
+            nextSibling[prev] = next;
+        }
+        if (next == NIL) {
+            lastChild[owner] = prev;
+        } else {
+            prevSibling[next] = prev;
+        }
+
+        // the subtree is freed in a post-order, which
+        // is walked by links only, without a stack
+        int curr = leftmost(node);
+        while (true) {
+            int succ = (curr == node) ? NIL
+                : (nextSibling[curr] != NIL) ? leftmost(nextSibling[curr])
+                : parent[curr];
+
+            parent[curr] = FREE;
+            nextSibling[curr] = freeList;
+            freeList = curr;
+            size--;
+
+            if (succ == NIL) {
+                break;
+            }
+            curr = succ;
+        }
+    }
+
+    // the first node of a subtree in a post-order
+    private int leftmost(int node) {
+        while (firstChild[node] != NIL) {
+            node = firstChild[node];
+        }
+        return node;
+    }
+
+    /**
+     * Removes all elements of this tree equal to {@code val}.
+     * All successors of removed elements are also removed.
+     *
+     * @param  val  a value to remove
+     * @return true if at least one element of this tree
+     *         is removed, false otherwise
+     */
+    public boolean remove(int val) {
+        boolean removed = false;
+
+        var iter = bfsIterator();
+        while (iter.hasNext()) {
+            if (iter.nextInt() == val) {
+                iter.remove();
+                removed = true;
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Checks if {@code val} is present in this tree.
+     *
+     * @param  val  a value to check presence of
+     * @return true if this tree contains val, false otherwise
+     */
+    public boolean contains(int val) {
+        // handles are scanned directly, so the order doesn't matter
+        for (int node = 1; node < allocated; node++) {
+            if (parent[node] != FREE && value[node] == val) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes all nodes, except for auxiliary root node.
+     */
+    public void clear() {
+        allocated = 0;
+        freeList = NIL;
+        size = 0;
+        modCount++;
+
+        allocate(NIL, 0);
+    }
+
+    /**
+     * Returns amount of elements in a tree, exclusive of auxiliary root node.
+     *
+     * @return amount of elements in a tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this tree contains no elements,
+     * exclusive of auxiliary root node.
+     *
+     * @return true if this tree contains no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Creates new array consisting of elements of this tree
+     * in the order of {@link #iterator}, the same as {@link Tree#toArray} has.
+     *
+     * @return array of this tree elements
+     */
+    public int[] toArray() {
+        int[] arr = new int[size];
+        int i = 0;
+        for (var iter = iterator(); iter.hasNext(); ) {
+            arr[i++] = iter.nextInt();
+        }
+        return arr;
+    }
+
+    /**
+     * Returns an iterator over the elements of this tree
+     * in breadth-first search order.
+     * Empty root node is not evolved.
+     *
+     * <p>This method is a wrapper for {@link #bfsIterator} method.
+     *
+     * @return an iterator over the elements in BFS order
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return bfsIterator();
+    }
+
+    /**
+     * Returns an iterator over the elements of this tree
+     * in breadth-first search order.
+     * Empty root node is not evolved.
+     *
+     * @return an iterator over the elements in BFS order
+     */
+    public PrimitiveIterator.OfInt bfsIterator() {
+        return new BfsIterator(ROOT);
+    }
+
+    /**
+     * Returns an iterator over the elements of this tree
+     * which are successors of the specified node,
+     * in breadth-first search order. The node itself is not evolved.
+     *
+     * @param  from  a handle of a root of a subtree to iterate over
+     * @return an iterator over the elements of a subtree in BFS order
+     * @throws IllegalArgumentException  if the node doesn't belong the tree
+     */
+    public PrimitiveIterator.OfInt bfsIterator(int from) throws IllegalArgumentException {
+        checkNode(from);
+        return new BfsIterator(from);
+    }
+
+    /**
+     * Returns an iterator over the elements of this tree
+     * in depth-first search order, the same as {@link Tree#dfsIterator} has.
+     * Empty root node is not evolved.
+     *
+     * @return an iterator over the elements in DFS order
+     */
+    public PrimitiveIterator.OfInt dfsIterator() {
+        return new DfsIterator(ROOT);
+    }
+
+    /**
+     * Returns an iterator over the elements of this tree
+     * which are successors of the specified node,
+     * in depth-first search order. The node itself is not evolved.
+     *
+     * @param  from  a handle of a root of a subtree to iterate over
+     * @return an iterator over the elements of a subtree in DFS order
+     * @throws IllegalArgumentException  if the node doesn't belong the tree
+     */
+    public PrimitiveIterator.OfInt dfsIterator(int from) throws IllegalArgumentException {
+        checkNode(from);
+        return new DfsIterator(from);
+    }
+
+    /**
+     * Returns a sequential {@code IntStream} over the elements
+     * of this tree in BFS order.
+     *
+     * @return a stream over the elements of this tree
+     */
+    public IntStream stream() {
+        var spliterator = Spliterators.spliterator(bfsIterator(), size,
+            Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    // Enqueues only parents, their children are walked
+    // by sibling links. Every node is enqueued at most once,
+    // so the queue is a plain array
+    private class BfsIterator implements PrimitiveIterator.OfInt {
+        private int expectedModCount = modCount;
+
+        private int[] queue = new int[16];
+        private int head = 0;
+        private int tail = 0;
+
+        private int next;
+        private int current = NIL;
+        private int currQueued = -1;
+
+        BfsIterator(int from) {
+            next = firstChild[from];
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == NIL && head < tail) {
+                next = firstChild[queue[head++]];
+            }
+            return next != NIL;
+        }
+
+        @Override
+        public int nextInt() throws NoSuchElementException {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("modification outside iterator is prohibited");
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more items");
+            }
+
+            current = next;
+            next = nextSibling[current];
+
+            currQueued = -1;
+            if (firstChild[current] != NIL) {
+                if (tail == queue.length) {
+                    queue = Arrays.copyOf(queue, tail + (tail >> 1));
+                }
+                currQueued = tail;
+                queue[tail++] = current;
+            }
+
+            return value[current];
+        }
+
+        @Override
+        public void remove() throws IllegalStateException {
+            if (current == NIL) {
+                throw new IllegalStateException("amount of calls of next() is not equal to 1");
+            }
+
+            if (currQueued >= head) {
+                tail--;
+            } else if (currQueued >= 0) {
+                // hasNext() has already moved the cursor to children
+                next = NIL;
+            }
+
+            unlink(current);
+            current = NIL;
+
+            expectedModCount = ++modCount;
+        }
+    }
+
+    // Post-order successor of a node is either the leftmost node
+    // of its next sibling's subtree, or its parent, so no stack is needed
+    private class DfsIterator implements PrimitiveIterator.OfInt {
+        private int expectedModCount = modCount;
+
+        private final int from;
+        private int next;
+        private int current = NIL;
+
+        DfsIterator(int from) {
+            this.from = from;
+            next = (firstChild[from] == NIL) ? NIL : leftmost(firstChild[from]);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != NIL;
+        }
+
+        @Override
+        public int nextInt() throws NoSuchElementException {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("modification outside iterator is prohibited");
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more items");
+            }
+
+            current = next;
+            if (nextSibling[current] != NIL) {
+                next = leftmost(nextSibling[current]);
+            } else {
+                next = (parent[current] == from) ? NIL : parent[current];
+            }
+
+            return value[current];
+        }
+
+        @Override
+        public void remove() throws IllegalStateException {
+            if (current == NIL) {
+                throw new IllegalStateException("amount of calls of next() is not equal to 1");
+            }
+
+            // successors of the current node are already visited,
+            // so the next node is not affected
+            unlink(current);
+            current = NIL;
+
+            expectedModCount = ++modCount;
+        }
+    }
+}
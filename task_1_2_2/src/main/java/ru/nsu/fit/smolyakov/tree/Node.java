@@ -1,6 +1,9 @@
 package ru.nsu.fit.smolyakov.tree;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -11,18 +14,51 @@ import java.util.List;
 public class Node<T> {
     private Tree<T> proprietor;
     private Node<T> parent;
-    private List<Node<T>> children = new LinkedList<>();
+    private List<Node<T>> children;
 
     private T value;
 
+    // Merkle-style hash of this subtree, recalculated lazily.
+    // If a node is invalid, all its ancestors are invalid too,
+    // so invalidation stops at the first already invalid node
+    private int subtreeHash;
+    private boolean hashValid = false;
+
+    // Skew-binary jump pointer (E. Myers, 1983): jumps are chosen so that
+    // any ancestor is reachable in O(log depth) steps. As a node never
+    // changes its parent, both fields are final and never rebuilt
+    private final int depth;
+    private final Node<T> jump;
+
     Node(Node<T> parent, T value) {
         this(parent.proprietor, parent, value);
     }
 
     Node(Tree<T> proprietor, Node<T> parent, T value) {
+        this(proprietor, parent, value, new ArrayList<>());
+    }
+
+    // Pre-sizes a list of children, if their amount is known in advance
+    Node(Node<T> parent, T value, int childrenCapacity) {
+        this(parent.proprietor, parent, value, new ArrayList<>(childrenCapacity));
+    }
+
+    private Node(Tree<T> proprietor, Node<T> parent, T value, List<Node<T>> children) {
         this.proprietor = proprietor;
         this.parent = parent;
         this.value = value;
+        this.children = children;
+
+        if (parent == null) {
+            this.depth = 0;
+            this.jump = this;
+        } else {
+            var parentJump = parent.jump;
+            this.depth = parent.depth + 1;
+            this.jump = (parent.depth - parentJump.depth == parentJump.depth - parentJump.jump.depth)
+                ? parentJump.jump
+                : parent;
+        }
     }
 
     Tree<T> getProprietor() {
@@ -37,8 +73,60 @@ public class Node<T> {
         return value;
     }
 
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns an ancestor of this node which is located at the specified
+     * {@code depth}, or this node itself if its depth is equal to specified.
+     * Auxiliary root node has depth 0.
+     *
+     * <p>Takes O(log n) steps, following jump pointers whenever
+     * they don't overshoot the requested depth.
+     *
+     * @param  depth  a depth of the ancestor, not greater than depth of this node
+     * @return an ancestor at the specified depth
+     */
+    Node<T> ancestorAt(int depth) {
+        var node = this;
+        while (node.depth > depth) {
+            node = (node.jump.depth >= depth) ? node.jump : node.parent;
+        }
+        return node;
+    }
+
+    /**
+     * Returns the deepest node which is an ancestor of both this and
+     * {@code other} nodes (a node is supposed to be an ancestor of itself).
+     * Both nodes must belong the same tree.
+     *
+     * <p>Nodes at the same depth have jump pointers of the same length,
+     * so both nodes are lifted synchronously, which takes O(log n) steps.
+     *
+     * @param  other  another node of the same tree
+     * @return the lowest common ancestor
+     */
+    Node<T> lowestCommonAncestor(Node<T> other) {
+        var first = ancestorAt(Math.min(depth, other.depth));
+        var second = other.ancestorAt(first.depth);
+
+        while (first != second) {
+            if (first.jump != second.jump) {
+                first = first.jump;
+                second = second.jump;
+            } else {
+                first = first.parent;
+                second = second.parent;
+            }
+        }
+
+        return first;
+    }
+
     void addChild(Node<T> who) {
         children.add(who);
+        invalidateHash();
     }
 
     int getChildCount() {
@@ -55,22 +143,94 @@ public class Node<T> {
 
     void removeChild(int id) {
         children.remove(id);
+        invalidateHash();
     }
 
     void removeChild(Node<T> node) {
         children.remove(node);
+        invalidateHash();
     }
 
     void clearChildren() {
         children.clear();
+        invalidateHash();
+    }
+
+    private void invalidateHash() {
+        for (var node = this; node != null && node.hashValid; node = node.parent) {
+            node.hashValid = false;
+        }
+    }
+
+    /**
+     * Returns a hash of this subtree, which depends on values of all its
+     * nodes and on their location. Only the nodes changed since the previous
+     * call are rehashed, so this method is O(1) for an unchanged subtree.
+     *
+     * <p>Implemented for internal use with {@link Tree#hashCode}.
+     *
+     * @return hash of this subtree
+     */
+    int subtreeHash() {
+        if (hashValid) {
+            return subtreeHash;
+        }
+
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        stack.push(this);
+
+        while (!stack.isEmpty()) {
+            var node = stack.peek();
+
+            boolean childrenValid = true;
+            for (var child : node.children) {
+                if (!child.hashValid) {
+                    stack.push(child);
+                    childrenValid = false;
+                }
+            }
+
+            if (childrenValid) {
+                stack.pop();
+                node.rehash();
+            }
+        }
+
+        return subtreeHash;
+    }
+
+    // all children are supposed to have valid hashes
+    private void rehash() {
+        int hash = (value == null) ? 0 : value.hashCode();
+        for (var child : children) {
+            hash = 31 * hash + child.subtreeHash;
+        }
+
+        subtreeHash = mix(hash ^ children.size());
+        hashValid = true;
+    }
+
+    // murmur3 finalizer, so polynomial hashes of different
+    // shapes don't collide linearly
+    static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
     }
 
     /**
      * Compares the specified object with this node for equality. 
      * Returns true if the specified object is also a node, 
-     * the two nodes have equal value and arrays of nodes,
+     * the two nodes have equal value and lists of children,
      * which are also equal.
      * 
+     * <p>Subtrees are compared iteratively with an explicit stack,
+     * so the depth of a tree is not limited by the call stack.
+     * Subtrees with valid different hashes are rejected immediately.
+     * 
      * <p>Implemented for internal use with {@link Tree#equals}.
      * 
      * @param  obj  object to be compared for equality with this node
@@ -78,7 +238,7 @@ public class Node<T> {
      *         false otherwise
      */
     @SuppressWarnings("unchecked") 
-    boolean equalRecursive(Object obj) {
+    boolean structurallyEquals(Object obj) {
         if (this == obj) {
             return true;
         } else if (obj == null) {
@@ -87,16 +247,32 @@ public class Node<T> {
             return false;
         }
 
-        Node<T> other = (Node<T>) obj;
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        stack.push(this);
+        stack.push((Node<T>) obj);
 
-        if (this.value != null 
-            && !this.value.equals(other.value)) {
-            return false;
-        }
+        while (!stack.isEmpty()) {
+            var other = stack.pop();
+            var node = stack.pop();
 
-        for (int i = 0; i < this.children.size(); i++) {
-            if (!(this.children.get(i).equalRecursive(other.children.get(i)))) {
+            if (node == other) {
+                continue;
+            } else if (node.children.size() != other.children.size()) {
+                return false;
+            } else if (node.hashValid && other.hashValid
+                && node.subtreeHash != other.subtreeHash) {
+                return false;
+            } else if (node.value != null 
+                && !node.value.equals(other.value)) {
                 return false;
+            } else if (node.value == null && other.value != null) {
+                return false;
+            }
+
+            Iterator<Node<T>> otherChildren = other.children.iterator();
+            for (var child : node.children) {
+                stack.push(child);
+                stack.push(otherChildren.next());
             }
         }
 
@@ -0,0 +1,555 @@
+package ru.nsu.fit.smolyakov.tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable tree, every modification of which returns a new version
+ * of this tree, leaving the original one unchanged.
+ *
+ * <p>Versions share all unchanged subtrees: only the nodes on the path
+ * from the root to a changed node are copied (path copying). So keeping
+ * many versions costs memory proportional to amount of changes, rather
+ * than to amount of versions multiplied by size of the tree.
+ *
+ * <p>Nodes are addressed by paths, i.e. sequences of indices of children
+ * starting from an auxiliary root node. An empty path denotes the root,
+ * path {@code 0, 2} denotes the third child of the first child of the root.
+ *
+ * <p>Iteration order is the same as {@link Tree} has, and hash codes
+ * of equal trees of both classes are the same.
+ *
+ * <p>Null-values are not allowed!
+ *
+ * @see Tree
+ */
+public final class PersistentTree<T> implements Iterable<T> {
+    @SuppressWarnings("rawtypes")
+    private static final PersistentNode[] NO_CHILDREN = new PersistentNode[0];
+
+    private final PersistentNode<T> root;
+
+    /**
+     * Constructs a new tree with an empty root node.
+     */
+    @SuppressWarnings("unchecked")
+    public PersistentTree() {
+        this(new PersistentNode<T>(null, NO_CHILDREN));
+    }
+
+    /**
+     * Constructs an immutable copy of a specified {@code tree}.
+     *
+     * <p>If the tree was changed during execution of this constructor,
+     * the behaviour is undefined.
+     *
+     * @param  tree  a tree to copy
+     */
+    public PersistentTree(Tree<T> tree) {
+        this(copyOf(tree.getRoot()));
+    }
+
+    private PersistentTree(PersistentNode<T> root) {
+        this.root = root;
+    }
+
+    // post-order copy, so children are always built before their parent
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static <T> PersistentNode<T> copyOf(Node<T> root) {
+        Deque<Node<T>> nodes = new ArrayDeque<>();
+        Deque<Iterator<Node<T>>> childrenIterators = new ArrayDeque<>();
+        Deque<PersistentNode<T>> built = new ArrayDeque<>();
+
+        nodes.push(root);
+        childrenIterators.push(root.getChildren().iterator());
+        while (!nodes.isEmpty()) {
+            var children = childrenIterators.peek();
+
+            if (children.hasNext()) {
+                var child = children.next();
+                nodes.push(child);
+                childrenIterators.push(child.getChildren().iterator());
+            } else {
+                var node = nodes.pop();
+                childrenIterators.pop();
+
+                PersistentNode<T>[] persistentChildren = new PersistentNode[node.getChildCount()];
+                for (int i = persistentChildren.length - 1; i >= 0; i--) {
+                    persistentChildren[i] = built.pop();
+                }
+                built.push(new PersistentNode<>(node.getValue(), persistentChildren));
+            }
+        }
+
+        return built.pop();
+    }
+
+    /**
+     * Returns a new version of this tree with an element with specified
+     * {@code value} added as the last successor of root.
+     *
+     * @param  value  a value to add
+     * @return a new version of this tree
+     * @throws IllegalArgumentException  if value is null
+     */
+    public PersistentTree<T> addNode(T value) throws IllegalArgumentException {
+        return addNode(value, new int[0]);
+    }
+
+    /**
+     * Returns a new version of this tree with an element with specified
+     * {@code value} added as the last successor of the node at specified
+     * {@code path}.
+     *
+     * @param  value  a value to add
+     * @param  path  a path to a parent node
+     * @return a new version of this tree
+     * @throws IllegalArgumentException  if value is null or there is no
+     *                                   node at such path
+     */
+    @SuppressWarnings("unchecked")
+    public PersistentTree<T> addNode(T value, int... path) throws IllegalArgumentException {
+        if (value == null) {
+            throw new IllegalArgumentException("Nulls are not allowed");
+        }
+
+        var parents = walk(path, path.length);
+        var parent = parents[path.length];
+
+        var children = Arrays.copyOf(parent.children, parent.children.length + 1);
+        children[parent.children.length] = new PersistentNode<>(value, NO_CHILDREN);
+
+        return new PersistentTree<>(
+            copyPath(parents, path, path.length, new PersistentNode<>(parent.value, children)));
+    }
+
+    /**
+     * Returns a new version of this tree without a node at specified
+     * {@code path} and all its successors.
+     *
+     * @param  path  a path to a node to remove
+     * @return a new version of this tree
+     * @throws IllegalArgumentException  if the path is empty or there is
+     *                                   no node at such path
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public PersistentTree<T> removeNode(int... path) throws IllegalArgumentException {
+        if (path.length == 0) {
+            throw new IllegalArgumentException("Root node can't be removed");
+        }
+
+        int depth = path.length - 1;
+        var parents = walk(path, path.length);
+        var parent = parents[depth];
+        int id = path[depth];
+
+        PersistentNode<T>[] children = new PersistentNode[parent.children.length - 1];
+        System.arraycopy(parent.children, 0, children, 0, id);
+        System.arraycopy(parent.children, id + 1, children, id, children.length - id);
+
+        return new PersistentTree<>(
+            copyPath(parents, path, depth, new PersistentNode<>(parent.value, children)));
+    }
+
+    // returns nodes on the path from the root, inclusive of both ends
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private PersistentNode<T>[] walk(int[] path, int length) {
+        PersistentNode<T>[] nodes = new PersistentNode[length + 1];
+        nodes[0] = root;
+
+        for (int i = 0; i < length; i++) {
+            if (path[i] < 0 || path[i] >= nodes[i].children.length) {
+                throw new IllegalArgumentException("No node at such path");
+            }
+            nodes[i + 1] = nodes[i].children[path[i]];
+        }
+
+        return nodes;
+    }
+
+    // replaces nodes[depth] with a specified one and copies all its ancestors
+    private PersistentNode<T> copyPath(PersistentNode<T>[] nodes, int[] path,
+                                       int depth, PersistentNode<T> replacement) {
+        for (int i = depth - 1; i >= 0; i--) {
+            var children = nodes[i].children.clone();
+            children[path[i]] = replacement;
+            replacement = new PersistentNode<>(nodes[i].value, children);
+        }
+
+        return replacement;
+    }
+
+    /**
+     * Returns a new version of this tree without all elements
+     * equal to {@code obj} and their successors.
+     *
+     * <p>If there are no such elements, this tree is returned.
+     *
+     * @param  obj  an object to remove
+     * @return a new version of this tree
+     */
+    public PersistentTree<T> remove(Object obj) {
+        if (obj == null) {
+            return this;
+        }
+
+        Deque<RemovalFrame<T>> stack = new ArrayDeque<>();
+        stack.push(new RemovalFrame<>(root));
+
+        while (true) {
+            var frame = stack.peek();
+
+            if (frame.id < frame.node.children.length) {
+                var child = frame.node.children[frame.id];
+                if (obj.equals(child.value)) {
+                    frame.accept(null);
+                } else {
+                    stack.push(new RemovalFrame<>(child));
+                }
+            } else {
+                stack.pop();
+                var rebuilt = frame.rebuild();
+
+                if (stack.isEmpty()) {
+                    return (rebuilt == root) ? this : new PersistentTree<>(rebuilt);
+                }
+                stack.peek().accept(rebuilt);
+            }
+        }
+    }
+
+    // a node being rebuilt by remove method, children
+    // are copied only if at least one of them is changed
+    private static class RemovalFrame<T> {
+        final PersistentNode<T> node;
+        int id = 0;
+        List<PersistentNode<T>> newChildren = null;
+
+        RemovalFrame(PersistentNode<T> node) {
+            this.node = node;
+        }
+
+        // accepts a rebuilt version of the current child, null if it's removed
+        void accept(PersistentNode<T> rebuilt) {
+            var child = node.children[id];
+            if (rebuilt != child && newChildren == null) {
+                newChildren = new ArrayList<>(Arrays.asList(node.children).subList(0, id));
+            }
+            if (newChildren != null && rebuilt != null) {
+                newChildren.add(rebuilt);
+            }
+            id++;
+        }
+
+        @SuppressWarnings("unchecked")
+        PersistentNode<T> rebuild() {
+            if (newChildren == null) {
+                return node;
+            } else {
+                return new PersistentNode<>(node.value, newChildren.toArray(NO_CHILDREN));
+            }
+        }
+    }
+
+    /**
+     * Creates a new mutable {@link Tree} with the same elements
+     * located the same way.
+     *
+     * @return a mutable copy of this tree
+     */
+    public Tree<T> toTree() {
+        var tree = new Tree<T>();
+
+        Deque<PersistentNode<T>> persistentNodes = new ArrayDeque<>();
+        Deque<Node<T>> nodes = new ArrayDeque<>();
+        persistentNodes.push(root);
+        nodes.push(tree.getRoot());
+
+        while (!nodes.isEmpty()) {
+            var persistentNode = persistentNodes.pop();
+            var node = nodes.pop();
+
+            for (var persistentChild : persistentNode.children) {
+                var child = new Node<T>(node, persistentChild.value);
+                node.addChild(child);
+
+                persistentNodes.push(persistentChild);
+                nodes.push(child);
+            }
+        }
+
+        tree.nodesAttached(size());
+        return tree;
+    }
+
+    /**
+     * Returns amount of elements in a tree, exclusive of auxiliary root node.
+     *
+     * @return amount of elements in a tree
+     */
+    public int size() {
+        return root.size - 1;
+    }
+
+    /**
+     * Checks if this tree has only empty root node.
+     *
+     * @return true if this tree has only empty root node,
+     *         false otherwise
+     */
+    public boolean isEmpty() {
+        return root.children.length == 0;
+    }
+
+    /**
+     * Checks if {@code obj} is present in this tree.
+     *
+     * @param  obj  an object to check presence of
+     * @return true if this tree contains obj,
+     *         false otherwise
+     */
+    public boolean contains(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+
+        return stream().anyMatch((val) -> val.equals(obj));
+    }
+
+    /**
+     * Returns an iterator over the elements of
+     * this tree in breadth-first search order.
+     * Empty root node is not evolved.
+     *
+     * <p>This method is a wrapper for {@link #bfsIterator} method.
+     *
+     * @return an iterator over the elements in BFS order
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return bfsIterator();
+    }
+
+    /**
+     * Returns an iterator over the elements of
+     * this tree in breadth-first search order.
+     * Empty root node is not evolved.
+     *
+     * @return an iterator over the elements in BFS order
+     */
+    public Iterator<T> bfsIterator() {
+        return new PersistentBfsIterator<>(root);
+    }
+
+    /**
+     * Returns an iterator over the elements of
+     * this tree in depth-first search order, the same as
+     * {@link Tree#dfsIterator} has.
+     * Empty root node is not evolved.
+     *
+     * @return an iterator over the elements in DFS order
+     */
+    public Iterator<T> dfsIterator() {
+        return new PersistentDfsIterator<>(root);
+    }
+
+    /**
+     * Returns a sequential {@code Stream} over the elements
+     * of this tree in BFS order.
+     *
+     * @return a stream over the elements of this tree
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Creates a {@link Spliterator} over the elements
+     * of this tree in BFS order.
+     *
+     * @return a spliterator over the elements of this tree
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(),
+            Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Returns a structure-aware hash for all elements of this tree,
+     * the same as an equal {@link Tree} has.
+     *
+     * <p>Hashes of all subtrees are calculated at the moment
+     * of their creation, so this method is O(1).
+     *
+     * @return  hash of all elements of this tree
+     */
+    @Override
+    public int hashCode() {
+        return root.hash;
+    }
+
+    /**
+     * Compares the specified object with this tree for equality.
+     * Returns true if the specified object is also a persistent tree,
+     * the two trees have the same size, and every member of the
+     * specified tree is contained in this tree, considering
+     * their location.
+     *
+     * <p>Subtrees shared by both trees are not compared.
+     *
+     * @param  obj  object to be compared for equality with this tree
+     * @return true if the specified object is equal to this tree,
+     *         false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null) {
+            return false;
+        } else if (getClass() != obj.getClass()) {
+            return false;
+        }
+
+        var other = (PersistentTree<?>) obj;
+        if (root.size != other.root.size || root.hash != other.root.hash) {
+            return false;
+        }
+
+        Deque<PersistentNode<?>> stack = new ArrayDeque<>();
+        stack.push(root);
+        stack.push(other.root);
+
+        while (!stack.isEmpty()) {
+            var otherNode = stack.pop();
+            var node = stack.pop();
+
+            if (node == otherNode) {
+                continue;
+            } else if (node.size != otherNode.size
+                || node.hash != otherNode.hash
+                || node.children.length != otherNode.children.length) {
+                return false;
+            } else if (node.value != null && !node.value.equals(otherNode.value)) {
+                return false;
+            }
+
+            for (int i = 0; i < node.children.length; i++) {
+                stack.push(node.children[i]);
+                stack.push(otherNode.children[i]);
+            }
+        }
+
+        return true;
+    }
+
+    // an immutable node, which knows size and hash of its subtree
+    private static final class PersistentNode<T> {
+        final T value;
+        final PersistentNode<T>[] children;
+        final int size;
+        final int hash;
+
+        PersistentNode(T value, PersistentNode<T>[] children) {
+            this.value = value;
+            this.children = children;
+
+            int size = 1;
+            int hash = (value == null) ? 0 : value.hashCode();
+            for (var child : children) {
+                size += child.size;
+                hash = 31 * hash + child.hash;
+            }
+
+            this.size = size;
+            this.hash = Node.mix(hash ^ children.length);
+        }
+    }
+
+    private static class PersistentBfsIterator<T> implements Iterator<T> {
+        private final Deque<PersistentNode<T>[]> queue = new ArrayDeque<>();
+        private PersistentNode<T>[] siblings;
+        private int id = 0;
+
+        PersistentBfsIterator(PersistentNode<T> root) {
+            siblings = root.children;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return id < siblings.length || !queue.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more items");
+            }
+
+            if (id >= siblings.length) {
+                siblings = queue.poll();
+                id = 0;
+            }
+
+            var node = siblings[id++];
+            if (node.children.length > 0) {
+                queue.add(node.children);
+            }
+
+            return node.value;
+        }
+    }
+
+    private static class PersistentDfsIterator<T> implements Iterator<T> {
+        private final Deque<PersistentNode<T>[]> siblingsStack = new ArrayDeque<>();
+        private int[] idStack = new int[16];
+
+        private PersistentNode<T>[] siblings;
+        private int id = 0;
+
+        PersistentDfsIterator(PersistentNode<T> root) {
+            siblings = root.children;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return id < siblings.length || !siblingsStack.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more items");
+            }
+
+            if (id >= siblings.length) {
+                siblings = siblingsStack.pop();
+                id = idStack[siblingsStack.size()];
+            } else {
+                while (siblings[id].children.length > 0) {
+                    int depth = siblingsStack.size();
+                    if (depth == idStack.length) {
+                        idStack = Arrays.copyOf(idStack, depth * 2);
+                    }
+                    idStack[depth] = id;
+                    siblingsStack.push(siblings);
+
+                    siblings = siblings[id].children;
+                    id = 0;
+                }
+            }
+
+            return siblings[id++].value;
+        }
+    }
+}
@@ -2,10 +2,16 @@ package ru.nsu.fit.smolyakov.tree;
 
 import static java.lang.reflect.Array.newInstance;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * An implementation of classic tree collection.
@@ -22,9 +28,8 @@ import java.util.stream.Collectors;
  * @see java.util.Collection
  */
 public class Tree<T> implements Collection<T> {
-    // With the purpose of improving perfomance,
-    // we use polynomial hash
-    private int hash = 0;
+    // Hash is maintained by nodes themselves,
+    // see Node#subtreeHash
     private int size = 0;
     
     // AtomicLong is used as we need to
@@ -64,6 +69,74 @@ public class Tree<T> implements Collection<T> {
         addAll(collection);
     }
 
+    /**
+     * Constructs a tree with an empty root node from an array of
+     * {@code values} and an array of {@code parents}, where {@code parents[i]}
+     * is an index of a parent of {@code values[i]} or -1 if it's a successor
+     * of the root node. Successors of the same node are ordered by their indices.
+     * 
+     * <p>The whole tree is built in one pass, and lists of children 
+     * are allocated with exact capacity, so this constructor is much faster 
+     * than a sequence of {@link #addNode} calls.
+     * 
+     * @param  values  an array of values
+     * @param  parents  an array of parents' indices
+     * @throws IllegalArgumentException  if any of values is null, arrays have 
+     *                                   different lengths, or parents' indices 
+     *                                   are out of range or make a cycle
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public Tree(T[] values, int[] parents) throws IllegalArgumentException {
+        int count = values.length;
+        if (parents.length != count) {
+            throw new IllegalArgumentException("Arrays have different lengths");
+        }
+
+        // children of a node i are located at order[start[i + 1]..start[i + 2]),
+        // the root node has index -1
+        int[] start = new int[count + 2];
+        for (int i = 0; i < count; i++) {
+            if (values[i] == null) {
+                throw new IllegalArgumentException("Nulls are not allowed");
+            } else if (parents[i] < -1 || parents[i] >= count || parents[i] == i) {
+                throw new IllegalArgumentException("Incorrect parent index " + parents[i]);
+            }
+            start[parents[i] + 2]++;
+        }
+        for (int i = 2; i < start.length; i++) {
+            start[i] += start[i - 1];
+        }
+
+        int[] order = new int[count];
+        int[] position = Arrays.copyOf(start, count + 1);
+        for (int i = 0; i < count; i++) {
+            order[position[parents[i] + 1]++] = i;
+        }
+
+        // nodes are created in BFS order, so a parent 
+        // is always created before its children
+        Node<T>[] nodes = new Node[count];
+        int[] queue = new int[count];
+        int created = 0;
+        for (int processed = -1; processed < created; processed++) {
+            int id = (processed < 0) ? -1 : queue[processed];
+            var parent = (id < 0) ? root : nodes[id];
+
+            for (int k = start[id + 1]; k < start[id + 2]; k++) {
+                int child = order[k];
+                nodes[child] = new Node<T>(parent, values[child], start[child + 2] - start[child + 1]);
+                parent.addChild(nodes[child]);
+                queue[created++] = child;
+            }
+        }
+
+        if (created != count) {
+            throw new IllegalArgumentException("Parents' indices make a cycle");
+        }
+
+        nodesAttached(count);
+    }
+
     /**
      * Adds an element with specified {@code value} to this tree 
      * as a successor of root.
@@ -106,7 +179,6 @@ public class Tree<T> implements Collection<T> {
         } else {
             lastModified.set(System.currentTimeMillis());
 
-            hash += value.hashCode();
             size++;
 
             var newNode = new Node<T>(where, value);
@@ -115,6 +187,61 @@ public class Tree<T> implements Collection<T> {
         }
     }
 
+    /**
+     * Returns true if {@code ancestor} is a proper ancestor of {@code node},
+     * in other words, if {@code node} is a successor of {@code ancestor}.
+     * 
+     * <p>Every node stores a skew-binary jump pointer, so this check
+     * takes O(log n) steps instead of walking all the parents.
+     * The pointers never change after a node is added, so nothing
+     * has to be rebuilt after modifications of the tree.
+     * 
+     * @param  ancestor  a supposed ancestor
+     * @param  node  a supposed successor
+     * @return true if {@code node} is a successor of {@code ancestor}
+     * @throws IllegalArgumentException  if any of nodes doesn't belong the tree
+     */
+    public boolean isAncestor(Node<T> ancestor, Node<T> node) throws IllegalArgumentException {
+        checkProprietor(ancestor);
+        checkProprietor(node);
+
+        return ancestor.getDepth() < node.getDepth()
+            && node.ancestorAt(ancestor.getDepth()) == ancestor;
+    }
+
+    /**
+     * Returns the deepest node which is an ancestor of both specified nodes.
+     * A node is supposed to be an ancestor of itself, so if one node is a 
+     * successor of another, the latter is returned. If nodes have no common
+     * ancestor except for auxiliary root node, the root node is returned.
+     * 
+     * <p>Takes O(log n) steps, see {@link #isAncestor}.
+     * 
+     * @param  first  a node of this tree
+     * @param  second  a node of this tree
+     * @return the lowest common ancestor of nodes
+     * @throws IllegalArgumentException  if any of nodes doesn't belong the tree
+     */
+    public Node<T> lowestCommonAncestor(Node<T> first, Node<T> second) 
+        throws IllegalArgumentException {
+        checkProprietor(first);
+        checkProprietor(second);
+
+        return first.lowestCommonAncestor(second);
+    }
+
+    // Used by TreeSnapshot, which attaches nodes directly
+    Node<T> getRoot() {
+        return root;
+    }
+
+    // Must be called after nodes are attached
+    // bypassing addNode method
+    void nodesAttached(int count) {
+        lastModified.set(System.currentTimeMillis());
+        size += count;
+    }
+
     /** 
      * Adds all elements contained in the specified {@code collection}
      * as a successors of a root node.
@@ -146,7 +273,6 @@ public class Tree<T> implements Collection<T> {
 
         root.clearChildren();
         size = 0; 
-        hash = 0;
     }
 
     /**
@@ -236,6 +362,132 @@ public class Tree<T> implements Collection<T> {
         return new BfsIterator<T>(root, lastModified);
     }
 
+    /**
+     * Returns an iterator over the elements of this tree
+     * which are successors of the specified node,
+     * in breadth-first search order. The node itself is not evolved.
+     * 
+     * @param  from  a root of a subtree to iterate over
+     * @return an iterator over the elements of a subtree in BFS order
+     * @throws IllegalArgumentException  if the node doesn't belong the tree
+     */
+    public Iterator<T> bfsIterator(Node<T> from) throws IllegalArgumentException {
+        return bfsIterator(from, (val) -> true);
+    }
+
+    /**
+     * Returns an iterator over the elements of this tree
+     * accepted by the specified {@code filter}, in breadth-first search order.
+     * If the value of a node is rejected, all its successors are skipped
+     * without being tested.
+     * Empty root node is not evolved.
+     * 
+     * @param  filter  a predicate a value of each visited node is tested with
+     * @return an iterator over the accepted elements in BFS order
+     */
+    public Iterator<T> bfsIterator(Predicate<? super T> filter) {
+        return bfsIterator(root, filter);
+    }
+
+    /**
+     * Returns an iterator over the elements of this tree
+     * which are successors of the specified node and accepted by 
+     * the specified {@code filter}, in breadth-first search order.
+     * If the value of a node is rejected, all its successors are skipped
+     * without being tested. The node itself is not evolved.
+     * 
+     * @param  from  a root of a subtree to iterate over
+     * @param  filter  a predicate a value of each visited node is tested with
+     * @return an iterator over the accepted elements of a subtree in BFS order
+     * @throws IllegalArgumentException  if the node doesn't belong the tree
+     */
+    public Iterator<T> bfsIterator(Node<T> from, Predicate<? super T> filter) 
+        throws IllegalArgumentException {
+        checkProprietor(from);
+        return new BfsIterator<T>(from, lastModified, filter);
+    }
+
+    /**
+     * Returns an iterator over the elements of this tree
+     * which are successors of the specified node,
+     * in depth-first search order. The node itself is not evolved.
+     * 
+     * @param  from  a root of a subtree to iterate over
+     * @return an iterator over the elements of a subtree in DFS order
+     * @throws IllegalArgumentException  if the node doesn't belong the tree
+     */
+    public Iterator<T> dfsIterator(Node<T> from) throws IllegalArgumentException {
+        return dfsIterator(from, (val) -> true);
+    }
+
+    /**
+     * Returns an iterator over the elements of this tree
+     * accepted by the specified {@code filter}, in depth-first search order.
+     * If the value of a node is rejected, all its successors are skipped
+     * without being tested.
+     * Empty root node is not evolved.
+     * 
+     * @param  filter  a predicate a value of each visited node is tested with
+     * @return an iterator over the accepted elements in DFS order
+     */
+    public Iterator<T> dfsIterator(Predicate<? super T> filter) {
+        return dfsIterator(root, filter);
+    }
+
+    /**
+     * Returns an iterator over the elements of this tree
+     * which are successors of the specified node and accepted by 
+     * the specified {@code filter}, in depth-first search order.
+     * If the value of a node is rejected, all its successors are skipped
+     * without being tested. The node itself is not evolved.
+     * 
+     * @param  from  a root of a subtree to iterate over
+     * @param  filter  a predicate a value of each visited node is tested with
+     * @return an iterator over the accepted elements of a subtree in DFS order
+     * @throws IllegalArgumentException  if the node doesn't belong the tree
+     */
+    public Iterator<T> dfsIterator(Node<T> from, Predicate<? super T> filter) 
+        throws IllegalArgumentException {
+        checkProprietor(from);
+        return new DfsIterator<T>(from, lastModified, filter);
+    }
+
+    /**
+     * Returns a sequential {@code Stream} over the elements of this tree
+     * which are successors of the specified node, in BFS order.
+     * The node itself is not evolved.
+     * 
+     * @param  from  a root of a subtree to stream
+     * @return a stream over the elements of a subtree
+     * @throws IllegalArgumentException  if the node doesn't belong the tree
+     */
+    public Stream<T> stream(Node<T> from) throws IllegalArgumentException {
+        return stream(from, (val) -> true);
+    }
+
+    /**
+     * Returns a sequential {@code Stream} over the elements of this tree
+     * which are successors of the specified node and accepted by the 
+     * specified {@code filter}, in BFS order. Rejected nodes are skipped 
+     * with all their successors. The node itself is not evolved.
+     * 
+     * @param  from  a root of a subtree to stream
+     * @param  filter  a predicate a value of each visited node is tested with
+     * @return a stream over the accepted elements of a subtree
+     * @throws IllegalArgumentException  if the node doesn't belong the tree
+     */
+    public Stream<T> stream(Node<T> from, Predicate<? super T> filter) 
+        throws IllegalArgumentException {
+        var spliterator = Spliterators.spliteratorUnknownSize(
+            bfsIterator(from, filter), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    private void checkProprietor(Node<T> node) throws IllegalArgumentException {
+        if (node.getProprietor() != this) {
+            throw new IllegalArgumentException("This node doesn't belong the tree");
+        }
+    }
 
 
  
@@ -261,7 +513,6 @@ public class Tree<T> implements Collection<T> {
                 iterator.remove();
 
                 size--;
-                hash -= obj.hashCode();
             }
         }
 
@@ -388,14 +639,18 @@ public class Tree<T> implements Collection<T> {
     }
 
     /**
-     * Returns a polynomial hash for all elements of 
-     * this tree.
+     * Returns a structure-aware hash for all elements of 
+     * this tree: trees with the same elements located differently 
+     * have different hashes in general.
+     * 
+     * <p>Hashes of subtrees are cached in nodes and recalculated 
+     * only for nodes changed since the previous call.
      * 
      * @return  hash of all elements of this tree
      */
     @Override
     public int hashCode() {
-        return hash;
+        return root.subtreeHash();
     }
 
     /**
@@ -424,10 +679,10 @@ public class Tree<T> implements Collection<T> {
 
         if (size != other.size) {
             return false;
-        } else if (hash != other.hash) {
+        } else if (hashCode() != other.hashCode()) {
             return false;
         } 
 
-        return this.root.equalRecursive(other.root);
+        return this.root.structurallyEquals(other.root);
     }
 }
@@ -0,0 +1,233 @@
+package ru.nsu.fit.smolyakov.tree;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.zip.DataFormatException;
+
+/**
+ * Saves a {@link Tree} to a compact binary snapshot and restores it.
+ *
+ * <p>A snapshot consists of a header, the amount of child nodes of every node
+ * (including auxiliary root node) listed in a preorder, and values of all nodes
+ * except for the root in the same order, written by a {@link ValueCodec}:
+ *
+ * <p>{@code int magic, int version, int nodesCount}
+ * <p>{@code int[nodesCount + 1] childCounts}
+ * <p>{@code values}
+ *
+ * <p>Writing is streaming, no intermediate copy of the tree is made.
+ * Loading reads a snapshot from a {@link ByteBuffer}, which may be
+ * memory-mapped by {@link #load}, and attaches all the nodes in one pass
+ * without the overhead of {@link Tree#addNode}.
+ *
+ * @see Tree
+ * @see ValueCodec
+ */
+public final class TreeSnapshot {
+    private static final int MAGIC = 0x54524545;
+    private static final int VERSION = 1;
+
+    private TreeSnapshot() {}
+
+    /**
+     * Writes a snapshot of a specified {@code tree} to {@code out}.
+     * The stream is not closed.
+     *
+     * <p>If the tree was changed during execution of this method,
+     * the behaviour is undefined.
+     *
+     * @param  tree  a tree to write
+     * @param  codec  a codec for values of the tree
+     * @param  out  a stream to write to
+     * @throws IOException  if an I/O error occurs
+     */
+    public static <T> void write(Tree<T> tree, ValueCodec<? super T> codec, OutputStream out)
+        throws IOException {
+        var data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+
+        int nodesCount = -1;
+        for (var iter = new PreorderIterator<>(tree.getRoot()); iter.hasNext(); iter.next()) {
+            nodesCount++;
+        }
+
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(nodesCount);
+
+        for (var iter = new PreorderIterator<>(tree.getRoot()); iter.hasNext(); ) {
+            data.writeInt(iter.next().getChildCount());
+        }
+
+        var iter = new PreorderIterator<>(tree.getRoot());
+        iter.next();
+        while (iter.hasNext()) {
+            codec.write(data, iter.next().getValue());
+        }
+
+        data.flush();
+    }
+
+    /**
+     * Writes a snapshot of a specified {@code tree} to a file,
+     * replacing it if it exists.
+     *
+     * @param  tree  a tree to write
+     * @param  codec  a codec for values of the tree
+     * @param  path  a file to write to
+     * @throws IOException  if an I/O error occurs
+     */
+    public static <T> void write(Tree<T> tree, ValueCodec<? super T> codec, Path path)
+        throws IOException {
+        try (var out = Files.newOutputStream(path)) {
+            write(tree, codec, out);
+        }
+    }
+
+    /**
+     * Memory-maps a specified file and restores a tree from it.
+     *
+     * <p>As a single mapping is used, the file can't be larger than 2 GB.
+     *
+     * @param  path  a file containing a snapshot
+     * @param  codec  a codec for values of the tree
+     * @return a restored tree
+     * @throws IOException  if an I/O error occurs
+     * @throws DataFormatException  if the file is not a correct snapshot
+     */
+    public static <T> Tree<T> load(Path path, ValueCodec<? extends T> codec)
+        throws IOException, DataFormatException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new DataFormatException("snapshot is too large to be mapped");
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer, codec);
+        }
+    }
+
+    /**
+     * Restores a tree from the current position of a specified {@code buffer}.
+     * The position is advanced to the end of the snapshot.
+     *
+     * @param  buffer  a buffer containing a snapshot
+     * @param  codec  a codec for values of the tree
+     * @return a restored tree
+     * @throws DataFormatException  if the buffer doesn't contain a correct snapshot
+     */
+    public static <T> Tree<T> read(ByteBuffer buffer, ValueCodec<? extends T> codec)
+        throws DataFormatException {
+        try {
+            return readUnchecked(buffer, codec);
+        } catch (BufferUnderflowException
+                 | IllegalArgumentException
+                 | NegativeArraySizeException e) {
+            throw new DataFormatException("snapshot is truncated or corrupted");
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static <T> Tree<T> readUnchecked(ByteBuffer buffer, ValueCodec<? extends T> codec)
+        throws DataFormatException {
+        if (buffer.getInt() != MAGIC) {
+            throw new DataFormatException("not a tree snapshot");
+        } else if (buffer.getInt() != VERSION) {
+            throw new DataFormatException("unsupported snapshot version");
+        }
+
+        int nodesCount = buffer.getInt();
+        if (nodesCount < 0 
+            || nodesCount >= buffer.remaining() / Integer.BYTES) {
+            throw new DataFormatException("incorrect amount of nodes");
+        }
+
+        int[] childCounts = new int[nodesCount + 1];
+        buffer.asIntBuffer().get(childCounts);
+        buffer.position(buffer.position() + Integer.BYTES * childCounts.length);
+
+        var tree = new Tree<T>();
+
+        // path from the root to the last attached node
+        // and amounts of children which are still to be attached
+        Node<T>[] path = new Node[16];
+        int[] remaining = new int[16];
+        int depth = 0;
+        path[0] = tree.getRoot();
+        remaining[0] = childCounts[0];
+
+        for (int i = 1; i <= nodesCount; i++) {
+            while (remaining[depth] == 0) {
+                if (depth == 0) {
+                    throw new DataFormatException("child counts don't match nodes count");
+                }
+                depth--;
+            }
+            remaining[depth]--;
+
+            T value = codec.read(buffer);
+            if (value == null || childCounts[i] < 0) {
+                throw new DataFormatException("incorrect node");
+            }
+
+            var node = new Node<T>(path[depth], value, childCounts[i]);
+            path[depth].addChild(node);
+
+            if (++depth == path.length) {
+                path = Arrays.copyOf(path, depth * 2);
+                remaining = Arrays.copyOf(remaining, depth * 2);
+            }
+            path[depth] = node;
+            remaining[depth] = childCounts[i];
+        }
+
+        for (int i = 0; i <= depth; i++) {
+            if (remaining[i] != 0) {
+                throw new DataFormatException("child counts don't match nodes count");
+            }
+        }
+
+        tree.nodesAttached(nodesCount);
+        return tree;
+    }
+
+    // Walks a subtree in a preorder, including its root
+    private static class PreorderIterator<T> implements Iterator<Node<T>> {
+        private final Deque<Node<T>> stack = new ArrayDeque<>();
+
+        PreorderIterator(Node<T> root) {
+            stack.push(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public Node<T> next() {
+            var node = stack.pop();
+
+            ListIterator<Node<T>> children = node.getChildren()
+                .listIterator(node.getChildCount());
+            while (children.hasPrevious()) {
+                stack.push(children.previous());
+            }
+
+            return node;
+        }
+    }
+}
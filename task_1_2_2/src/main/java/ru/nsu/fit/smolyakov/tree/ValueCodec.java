@@ -0,0 +1,108 @@
+package ru.nsu.fit.smolyakov.tree;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts values of a {@link Tree} to bytes and back.
+ * Used by {@link TreeSnapshot} to store values of nodes.
+ *
+ * <p>Values are written to a {@link DataOutput}, so they are
+ * big-endian, and read from a {@link ByteBuffer}, which may be
+ * memory-mapped. A codec must read exactly as many bytes as
+ * it has written.
+ *
+ * @see TreeSnapshot
+ */
+public interface ValueCodec<T> {
+    /**
+     * Writes a specified {@code value} to {@code out}.
+     *
+     * @param  out  an output to write to
+     * @param  value  a non-null value to write
+     * @throws IOException  if an I/O error occurs
+     */
+    void write(DataOutput out, T value) throws IOException;
+
+    /**
+     * Reads a value from the current position of {@code buffer}
+     * and advances the position.
+     *
+     * @param  buffer  a big-endian buffer to read from
+     * @return a value read
+     * @throws java.nio.BufferUnderflowException  if there are not enough bytes
+     *                                            remaining in the buffer
+     */
+    T read(ByteBuffer buffer);
+
+    /**
+     * Returns a codec for strings, which are stored as
+     * a length in bytes followed by UTF-8 bytes.
+     *
+     * @return a codec for strings
+     */
+    static ValueCodec<String> strings() {
+        return new ValueCodec<>() {
+            @Override
+            public void write(DataOutput out, String value) throws IOException {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            @Override
+            public String read(ByteBuffer buffer) {
+                // a corrupted length must not make a huge array allocated
+                int length = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    throw new BufferUnderflowException();
+                }
+
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /**
+     * Returns a codec for integers, which are stored as 4 bytes.
+     *
+     * @return a codec for integers
+     */
+    static ValueCodec<Integer> integers() {
+        return new ValueCodec<>() {
+            @Override
+            public void write(DataOutput out, Integer value) throws IOException {
+                out.writeInt(value);
+            }
+
+            @Override
+            public Integer read(ByteBuffer buffer) {
+                return buffer.getInt();
+            }
+        };
+    }
+
+    /**
+     * Returns a codec for longs, which are stored as 8 bytes.
+     *
+     * @return a codec for longs
+     */
+    static ValueCodec<Long> longs() {
+        return new ValueCodec<>() {
+            @Override
+            public void write(DataOutput out, Long value) throws IOException {
+                out.writeLong(value);
+            }
+
+            @Override
+            public Long read(ByteBuffer buffer) {
+                return buffer.getLong();
+            }
+        };
+    }
+}
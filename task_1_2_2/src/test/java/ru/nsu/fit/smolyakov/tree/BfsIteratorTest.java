@@ -56,6 +56,34 @@ class BfsIteratorTest {
             .isEqualTo(TestLists.bfsOrderForSomeUsualTreeWithoutAre());
     }
 
+    @Test
+    void removeParentTest() {
+        while (iter.hasNext()) {
+            if (iter.next().equals("dont forget about son2...")) {
+                iter.remove();
+            }
+        }
+
+        assertThat(tree.stream().collect(Collectors.toList()))
+            .doesNotContain("who is son2", "idk")
+            .contains("-999 social credit")
+            .hasSize(TestLists.bfsOrderForSomeUsualTree().size() - 3);
+    }
+
+    @Test
+    void wideTreeTest() {
+        var wideTree = new Tree<Integer>();
+        for (int i = 0; i < 100_000; i++) {
+            wideTree.add(i);
+        }
+
+        int i = 0;
+        for (var val : wideTree) {
+            assertThat(val).isEqualTo(i++);
+        }
+        assertThat(i).isEqualTo(100_000);
+    }
+
     @Test
     void nextWithoutCheckTest() {
         while (iter.hasNext()) {
@@ -0,0 +1,116 @@
+package ru.nsu.fit.smolyakov.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentTreeTest {
+    ConcurrentTree<String> tree;
+
+    // the same shape as TestLists.someUsualTree()
+    @BeforeEach
+    void init() {
+        tree = new ConcurrentTree<>();
+        tree.addAll(List.of("these", "are", "first", "level", "children"));
+        var son1 = tree.addNode("are");
+        var son2 = tree.addNode("dont forget about son2...");
+
+        tree.addNode(son2, "who is son2");
+        tree.addNode(son2, "idk");
+        var son1_1 = tree.addNode(son1, "me too!");
+        tree.addNode(son1_1, "-999 social credit");
+        tree.addNode(son1_1, "are");
+    }
+
+    @Test
+    void bfsOrderTest() {
+        assertThat(tree.stream().collect(Collectors.toList()))
+            .isEqualTo(TestLists.bfsOrderForSomeUsualTree());
+    }
+
+    @Test
+    void dfsOrderTest() {
+        var list = new ArrayList<String>();
+        tree.dfsIterator().forEachRemaining(list::add);
+
+        assertThat(list).isEqualTo(TestLists.dfsOrderForSomeUsualTree());
+    }
+
+    @Test
+    void removeTest() {
+        assertThat(tree.remove("are")).isTrue();
+        assertThat(tree.remove("are")).isFalse();
+
+        assertThat(tree.stream().collect(Collectors.toList()))
+            .isEqualTo(TestLists.bfsOrderForSomeUsualTreeWithoutAre());
+        assertThat(tree).hasSize(TestLists.bfsOrderForSomeUsualTreeWithoutAre().size());
+
+        var list = new ArrayList<String>();
+        tree.dfsIterator().forEachRemaining(list::add);
+        assertThat(list).isEqualTo(TestLists.dfsOrderForSomeUsualTreeWithoutAre());
+    }
+
+    @Test
+    void weaklyConsistentIteratorTest() {
+        // children of a node are read when the node is visited,
+        // so a child added to a node not visited yet is seen
+        var parent = tree.addNode("parent");
+        var iter = tree.iterator();
+        iter.next();
+        tree.addNode(parent, "added after iterator creation");
+
+        var list = new ArrayList<String>();
+        iter.forEachRemaining(list::add);
+        assertThat(list).contains("added after iterator creation");
+    }
+
+    @Test
+    void removedNodeTest() {
+        var node = tree.addNode("doomed");
+        assertThat(tree.removeNode(node)).isTrue();
+        assertThat(tree.removeNode(node)).isFalse();
+
+        assertThatThrownBy(() -> tree.addNode(node, "orphan"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConcurrentTree<String>().addNode(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void clearTest() {
+        tree.clear();
+        assertThat(tree).isEmpty();
+        assertThat(tree.iterator().hasNext()).isFalse();
+    }
+
+    @Test
+    void concurrentWritersTest() throws InterruptedException {
+        var concurrentTree = new ConcurrentTree<Integer>();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 8; i++) {
+            final int thread = i;
+            pool.execute(() -> {
+                var node = concurrentTree.addNode(thread);
+                for (int j = 0; j < 10_000; j++) {
+                    concurrentTree.addNode(j % 2 == 0 ? node : concurrentTree.addNode(j), j);
+                    concurrentTree.stream().limit(10).count();
+                }
+            });
+        }
+
+        pool.shutdown();
+        assertThat(pool.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(concurrentTree.size()).isEqualTo(8 + 8 * 15_000);
+        assertThat(concurrentTree.stream().count()).isEqualTo(concurrentTree.size());
+    }
+}
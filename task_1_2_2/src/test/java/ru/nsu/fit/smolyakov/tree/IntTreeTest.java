@@ -0,0 +1,138 @@
+package ru.nsu.fit.smolyakov.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IntTreeTest {
+    IntTree intTree;
+    Tree<Integer> tree;
+
+    // the same shape as TestLists.someUsualTree()
+    @BeforeEach
+    void init() {
+        intTree = new IntTree();
+        tree = new Tree<>();
+        for (int i = 0; i < 5; i++) {
+            intTree.add(i);
+            tree.add(i);
+        }
+
+        var son1 = intTree.add(5);
+        var son2 = intTree.add(6);
+        intTree.addNode(son2, 7);
+        intTree.addNode(son2, 8);
+        var son1_1 = intTree.addNode(son1, 9);
+        intTree.addNode(son1_1, 10);
+        intTree.addNode(son1_1, 1);
+
+        var treeSon1 = tree.addNode(5);
+        var treeSon2 = tree.addNode(6);
+        tree.addNode(treeSon2, 7);
+        tree.addNode(treeSon2, 8);
+        var treeSon1_1 = tree.addNode(treeSon1, 9);
+        tree.addNode(treeSon1_1, 10);
+        tree.addNode(treeSon1_1, 1);
+    }
+
+    static List<Integer> listed(Iterable<Integer> iterable) {
+        var list = new ArrayList<Integer>();
+        iterable.forEach(list::add);
+        return list;
+    }
+
+    @Test
+    void sameOrdersTest() {
+        assertThat(listed(intTree::bfsIterator)).isEqualTo(listed(tree::bfsIterator));
+        assertThat(listed(intTree::dfsIterator)).isEqualTo(listed(tree::dfsIterator));
+        assertThat(intTree.toArray()).containsExactly(
+            tree.toArray(new Integer[0]));
+        assertThat(intTree.size()).isEqualTo(tree.size());
+    }
+
+    @Test
+    void removeTest() {
+        assertThat(intTree.remove(1)).isTrue();
+        assertThat(intTree.remove(1)).isFalse();
+        tree.remove(1);
+
+        assertThat(listed(intTree)).isEqualTo(listed(tree));
+        assertThat(intTree.contains(1)).isFalse();
+        assertThat(intTree.size()).isEqualTo(10);
+    }
+
+    @Test
+    void removeSubtreeTest() {
+        assertThat(intTree.remove(5)).isTrue();
+
+        assertThat(listed(intTree)).containsExactly(0, 1, 2, 3, 4, 6, 7, 8);
+        assertThat(intTree.contains(9)).isFalse();
+        assertThat(intTree.size()).isEqualTo(8);
+    }
+
+    @Test
+    void iteratorRemoveTest() {
+        var iter = intTree.dfsIterator();
+        while (iter.hasNext()) {
+            if (iter.nextInt() % 2 == 0) {
+                iter.remove();
+            }
+        }
+
+        assertThat(listed(intTree)).containsExactly(1, 3, 5, 9, 1);
+    }
+
+    @Test
+    void handlesReuseTest() {
+        var node = intTree.add(100);
+        intTree.removeNode(node);
+
+        assertThatThrownBy(() -> intTree.addNode(node, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        var newNode = intTree.add(101);
+        assertThat(newNode).isEqualTo(node);
+        assertThat(intTree.getValue(newNode)).isEqualTo(101);
+        assertThat(intTree.getParent(newNode)).isEqualTo(IntTree.ROOT);
+    }
+
+    @Test
+    void deepTreeTest() {
+        var deepTree = new IntTree();
+        int node = IntTree.ROOT;
+        for (int i = 0; i < 1_000_000; i++) {
+            node = deepTree.addNode(node, i);
+        }
+
+        var iter = deepTree.dfsIterator();
+        for (int i = 999_999; i >= 0; i--) {
+            assertThat(iter.nextInt()).isEqualTo(i);
+        }
+        assertThat(iter.hasNext()).isFalse();
+
+        deepTree.removeNode(deepTree.getParent(node));
+        assertThat(deepTree.size()).isEqualTo(999_998);
+        assertThat(deepTree.stream().count()).isEqualTo(999_998);
+    }
+
+    @Test
+    void iteratorExceptionsTest() {
+        var iter = intTree.bfsIterator();
+        assertThatThrownBy(() -> iter.remove())
+            .isInstanceOf(IllegalStateException.class);
+
+        intTree.add(11);
+        assertThatThrownBy(() -> iter.nextInt())
+            .isInstanceOf(ConcurrentModificationException.class);
+
+        var emptyIter = new IntTree().dfsIterator();
+        assertThatThrownBy(() -> emptyIter.nextInt())
+            .isInstanceOf(NoSuchElementException.class);
+    }
+}
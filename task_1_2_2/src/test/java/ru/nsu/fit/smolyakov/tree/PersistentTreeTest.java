@@ -0,0 +1,84 @@
+package ru.nsu.fit.smolyakov.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PersistentTreeTest {
+    PersistentTree<String> tree;
+
+    @BeforeEach
+    void init() {
+        tree = new PersistentTree<>(TestLists.someUsualTree());
+    }
+
+    @Test
+    void iterationOrderTest() {
+        assertThat(tree.stream().collect(Collectors.toList()))
+            .isEqualTo(TestLists.bfsOrderForSomeUsualTree());
+
+        var list = new ArrayList<String>();
+        tree.dfsIterator().forEachRemaining(list::add);
+        assertThat(list).isEqualTo(TestLists.dfsOrderForSomeUsualTree());
+    }
+
+    @Test
+    void pathsTest() {
+        var built = new PersistentTree<String>();
+        for (var val : List.of("these", "are", "first", "level", "children",
+                               "are", "dont forget about son2...")) {
+            built = built.addNode(val);
+        }
+        built = built.addNode("who is son2", 6)
+                     .addNode("idk", 6)
+                     .addNode("me too!", 5)
+                     .addNode("-999 social credit", 5, 0)
+                     .addNode("are", 5, 0);
+
+        assertThat(built).isEqualTo(tree);
+        assertThat(built.hashCode()).isEqualTo(tree.hashCode());
+        assertThat(built.hashCode()).isEqualTo(TestLists.someUsualTree().hashCode());
+        assertThat(built.toTree()).isEqualTo(TestLists.someUsualTree());
+    }
+
+    @Test
+    void versionsTest() {
+        var withoutAre = tree.remove("are");
+        var withoutSon2 = tree.removeNode(6);
+
+        assertThat(withoutAre.stream().collect(Collectors.toList()))
+            .isEqualTo(TestLists.bfsOrderForSomeUsualTreeWithoutAre());
+        assertThat(withoutAre.size()).isEqualTo(7);
+        assertThat(withoutSon2.size()).isEqualTo(9);
+        assertThat(withoutSon2.contains("idk")).isFalse();
+
+        assertThat(tree.stream().collect(Collectors.toList()))
+            .isEqualTo(TestLists.bfsOrderForSomeUsualTree());
+        assertThat(tree.remove("not contained")).isSameAs(tree);
+    }
+
+    @Test
+    void incorrectArgumentsTest() {
+        assertThatThrownBy(() -> tree.addNode(null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tree.addNode("no such parent", 5, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tree.removeNode())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptyTreeTest() {
+        var empty = new PersistentTree<String>();
+
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.iterator().hasNext()).isFalse();
+        assertThat(empty.addNode("a").isEmpty()).isFalse();
+        assertThat(empty.hashCode()).isEqualTo(new Tree<String>().hashCode());
+    }
+}
@@ -0,0 +1,83 @@
+package ru.nsu.fit.smolyakov.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SubtreeIteratorsTest {
+    Tree<String> tree;
+    Node<String> subtreeRoot;
+
+    @BeforeEach
+    void init() {
+        tree = new Tree<>(List.of("these", "are", "first", "level", "children"));
+        subtreeRoot = tree.addNode("are");
+        var son1_1 = tree.addNode(subtreeRoot, "me too!");
+        tree.addNode(son1_1, "-999 social credit");
+        tree.addNode(son1_1, "are");
+    }
+
+    static List<String> listed(Iterator<String> iter) {
+        var list = new ArrayList<String>();
+        iter.forEachRemaining(list::add);
+        return list;
+    }
+
+    @Test
+    void subtreeBfsTest() {
+        assertThat(listed(tree.bfsIterator(subtreeRoot)))
+            .isEqualTo(List.of("me too!", "-999 social credit", "are"));
+    }
+
+    @Test
+    void subtreeDfsTest() {
+        assertThat(listed(tree.dfsIterator(subtreeRoot)))
+            .isEqualTo(List.of("-999 social credit", "are", "me too!"));
+    }
+
+    @Test
+    void subtreeStreamTest() {
+        assertThat(tree.stream(subtreeRoot).collect(Collectors.toList()))
+            .isEqualTo(List.of("me too!", "-999 social credit", "are"));
+    }
+
+    @Test
+    void prunedTraversalsTest() {
+        assertThat(listed(tree.bfsIterator((val) -> !val.equals("are"))))
+            .isEqualTo(List.of("these", "first", "level", "children"));
+        assertThat(listed(tree.dfsIterator((val) -> !val.equals("me too!"))))
+            .isEqualTo(List.of("these", "are", "first", "level", "children", "are"));
+        assertThat(tree.stream(subtreeRoot, (val) -> val.length() > 3).count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void filteredRemoveTest() {
+        var iter = tree.dfsIterator((val) -> !val.equals("first"));
+        while (iter.hasNext()) {
+            var val = iter.next();
+            iter.hasNext();
+
+            if (val.equals("are")) {
+                iter.remove();
+            }
+        }
+
+        assertThat(listed(tree.bfsIterator()))
+            .isEqualTo(List.of("these", "first", "level", "children"));
+    }
+
+    @Test
+    void foreignNodeTest() {
+        assertThatThrownBy(() -> new Tree<String>().bfsIterator(subtreeRoot))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Tree<String>().stream(subtreeRoot))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.nsu.fit.smolyakov.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TreeAncestorsTest {
+    Tree<String> tree;
+    Node<String> son1;
+    Node<String> son2;
+    Node<String> son1_1;
+    Node<String> son1_1_1;
+
+    @BeforeEach
+    void init() {
+        tree = new Tree<>();
+        son1 = tree.addNode("son1");
+        son2 = tree.addNode("son2");
+        son1_1 = tree.addNode(son1, "son1_1");
+        son1_1_1 = tree.addNode(son1_1, "son1_1_1");
+    }
+
+    @Test
+    void isAncestorTest() {
+        assertThat(tree.isAncestor(son1, son1_1_1)).isTrue();
+        assertThat(tree.isAncestor(son1_1, son1_1_1)).isTrue();
+        assertThat(tree.isAncestor(son1_1_1, son1)).isFalse();
+        assertThat(tree.isAncestor(son2, son1_1)).isFalse();
+        assertThat(tree.isAncestor(son1, son1)).isFalse();
+    }
+
+    @Test
+    void lowestCommonAncestorTest() {
+        var son1_2 = tree.addNode(son1, "son1_2");
+
+        assertThat(tree.lowestCommonAncestor(son1_1_1, son1_2)).isSameAs(son1);
+        assertThat(tree.lowestCommonAncestor(son1_1_1, son1)).isSameAs(son1);
+        assertThat(tree.lowestCommonAncestor(son1_1, son1_1)).isSameAs(son1_1);
+        assertThat(tree.lowestCommonAncestor(son1_1_1, son2).getValue()).isNull();
+    }
+
+    @Test
+    void deepTreeTest() {
+        var top = tree.addNode("top");
+        var node = top;
+        var middle = top;
+        for (int i = 0; i < 1_000_000; i++) {
+            node = tree.addNode(node, "deep");
+            if (i == 500_000) {
+                middle = node;
+            }
+        }
+        var branch = tree.addNode(middle, "branch");
+
+        assertThat(tree.isAncestor(top, node)).isTrue();
+        assertThat(tree.isAncestor(middle, node)).isTrue();
+        assertThat(tree.isAncestor(branch, node)).isFalse();
+        assertThat(tree.lowestCommonAncestor(node, branch)).isSameAs(middle);
+    }
+
+    @Test
+    void foreignNodeTest() {
+        var otherTree = new Tree<String>();
+        var otherNode = otherTree.addNode("other");
+
+        assertThatThrownBy(() -> tree.isAncestor(son1, otherNode))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tree.lowestCommonAncestor(otherNode, son1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
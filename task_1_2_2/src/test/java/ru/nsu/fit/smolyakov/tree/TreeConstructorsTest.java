@@ -31,6 +31,34 @@ class TreeConstructorsTest {
         assertThat(noArgsTree).isEqualTo(collectionArgTree);
     }
 
+    @Test
+    void parentsConstructorTest() {
+        // the same as TestLists.someUsualTree(), but children
+        // are listed before their parents
+        String[] values = {
+            "-999 social credit", "these", "are", "first", "who is son2", "level",
+            "children", "are", "dont forget about son2...", "idk", "me too!", "are"
+        };
+        int[] parents = {10, -1, -1, -1, 8, -1, -1, -1, -1, 8, 7, 10};
+
+        var tree = new Tree<String>(values, parents);
+
+        assertThat(tree).isEqualTo(TestLists.someUsualTree());
+        assertThat(tree).hasSize(values.length);
+    }
+
+    @Test
+    void incorrectParentsConstructorTest() {
+        assertThatThrownBy(() -> new Tree<String>(new String[] {"a", "b"}, new int[] {1, 0}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Tree<String>(new String[] {"a", "b"}, new int[] {-1, 2}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Tree<String>(new String[] {"a", null}, new int[] {-1, 0}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Tree<String>(new String[] {"a"}, new int[] {-1, 0}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void nullConstructorTest() {
         assertThatThrownBy(() -> new Tree<Object>(null))
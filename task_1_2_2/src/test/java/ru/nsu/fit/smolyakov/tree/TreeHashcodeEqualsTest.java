@@ -2,6 +2,7 @@ package ru.nsu.fit.smolyakov.tree;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class TreeHashcodeEqualsTest {
@@ -39,4 +40,56 @@ class TreeHashcodeEqualsTest {
     void wrongObjClassEquals() {
         assertThat(new Tree<Object>()).isNotEqualTo(new Object());
     }
+
+    @Test
+    void permutedSiblingsTest() {
+        var oneTree = new Tree<>(List.of("a", "b", "c"));
+        var anotherTree = new Tree<>(List.of("c", "b", "a"));
+
+        assertThat(oneTree.hashCode()).isNotEqualTo(anotherTree.hashCode());
+        assertThat(oneTree).isNotEqualTo(anotherTree);
+    }
+
+    @Test
+    void sameValuesDifferentShapeTest() {
+        var oneTree = new Tree<String>();
+        oneTree.addNode(oneTree.addNode("a"), "b");
+        var anotherTree = new Tree<>(List.of("a", "b"));
+
+        assertThat(oneTree.hashCode()).isNotEqualTo(anotherTree.hashCode());
+        assertThat(oneTree).isNotEqualTo(anotherTree);
+    }
+
+    @Test
+    void hashAfterRemoveTest() {
+        var tree = TestLists.someUsualTree();
+        int hash = tree.hashCode();
+
+        var son = tree.addNode("temporary son");
+        tree.addNode(son, "temporary grandson");
+        assertThat(tree.hashCode()).isNotEqualTo(hash);
+
+        tree.remove("temporary son");
+        assertThat(tree.hashCode()).isEqualTo(hash);
+    }
+
+    @Test
+    void veryDeepTreesTest() {
+        var oneTree = new Tree<Integer>();
+        var anotherTree = new Tree<Integer>();
+
+        var oneNode = oneTree.addNode(0);
+        var anotherNode = anotherTree.addNode(0);
+        for (int i = 1; i < 200_000; i++) {
+            oneNode = oneTree.addNode(oneNode, i);
+            anotherNode = anotherTree.addNode(anotherNode, i);
+        }
+
+        assertThat(oneTree.hashCode()).isEqualTo(anotherTree.hashCode());
+        assertThat(oneTree).isEqualTo(anotherTree);
+
+        oneTree.addNode(oneNode, -1);
+        anotherTree.addNode(anotherNode, -2);
+        assertThat(oneTree).isNotEqualTo(anotherTree);
+    }
 }
@@ -0,0 +1,79 @@
+package ru.nsu.fit.smolyakov.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TreeSnapshotTest {
+    @Test
+    void bufferRoundTripTest() throws IOException, DataFormatException {
+        var tree = TestLists.someUsualTree();
+        var out = new ByteArrayOutputStream();
+        TreeSnapshot.write(tree, ValueCodec.strings(), out);
+
+        var restored = TreeSnapshot.read(ByteBuffer.wrap(out.toByteArray()), ValueCodec.strings());
+
+        assertThat(restored).isEqualTo(tree);
+        assertThat(restored.size()).isEqualTo(tree.size());
+        assertThat(restored.stream().collect(Collectors.toList()))
+            .isEqualTo(TestLists.bfsOrderForSomeUsualTree());
+    }
+
+    @Test
+    void fileRoundTripTest(@TempDir Path dir) throws IOException, DataFormatException {
+        var tree = new Tree<Long>();
+        var node = tree.addNode(0L);
+        for (long i = 1; i < 100_000; i++) {
+            node = tree.addNode(i % 3 == 0 ? node : tree.addNode(node, -i), i);
+        }
+
+        var file = dir.resolve("tree.bin");
+        TreeSnapshot.write(tree, ValueCodec.longs(), file);
+
+        assertThat(TreeSnapshot.load(file, ValueCodec.longs())).isEqualTo(tree);
+    }
+
+    @Test
+    void emptyTreeTest() throws IOException, DataFormatException {
+        var out = new ByteArrayOutputStream();
+        TreeSnapshot.write(new Tree<Integer>(), ValueCodec.integers(), out);
+
+        var restored = TreeSnapshot.read(ByteBuffer.wrap(out.toByteArray()), ValueCodec.integers());
+        assertThat(restored).isEmpty();
+    }
+
+    @Test
+    void corruptedSnapshotTest() throws IOException {
+        var out = new ByteArrayOutputStream();
+        TreeSnapshot.write(TestLists.someUsualTree(), ValueCodec.strings(), out);
+        byte[] bytes = out.toByteArray();
+
+        var truncated = Arrays.copyOf(bytes, bytes.length - 3);
+        assertThatThrownBy(() -> TreeSnapshot.read(ByteBuffer.wrap(truncated), ValueCodec.strings()))
+            .isInstanceOf(DataFormatException.class);
+
+        // the first value follows the header and the child counts
+        int firstLength = 3 * Integer.BYTES + Integer.BYTES * (ByteBuffer.wrap(bytes).getInt(8) + 1);
+        var wrongLength = bytes.clone();
+        wrongLength[firstLength] = 0x7f;
+        assertThatThrownBy(() -> TreeSnapshot.read(ByteBuffer.wrap(wrongLength), ValueCodec.strings()))
+            .isInstanceOf(DataFormatException.class)
+            .hasMessage("snapshot is truncated or corrupted");
+        wrongLength[firstLength] = (byte) 0xff;
+        assertThatThrownBy(() -> TreeSnapshot.read(ByteBuffer.wrap(wrongLength), ValueCodec.strings()))
+            .isInstanceOf(DataFormatException.class);
+
+        bytes[0] = 0;
+        assertThatThrownBy(() -> TreeSnapshot.read(ByteBuffer.wrap(bytes), ValueCodec.strings()))
+            .isInstanceOf(DataFormatException.class);
+    }
+}
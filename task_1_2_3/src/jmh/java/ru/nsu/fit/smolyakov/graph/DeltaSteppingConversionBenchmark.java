@@ -0,0 +1,61 @@
+package ru.nsu.fit.smolyakov.graph;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
+import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
+
+/**
+ * Measures {@link AbstractGraph#findShortestPaths(Object, ShortestPathsStrategy)}
+ * with {@link ShortestPathsStrategy#DELTA_STEPPING} on an {@link IncidentListGraph},
+ * which takes a {@link CsrGraph} snapshot on every call, against the same call
+ * on a {@link CsrGraph}, which runs directly.
+ *
+ * <p>Both run in the common pool, the largest network of
+ * {@link ShortestPathsBenchmark} doesn't fit an incident list graph in a heap.
+ *
+ * @see ShortestPathsBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class DeltaSteppingConversionBenchmark {
+    @Param({"300", "1000"})
+    int side;
+
+    CsrGraph<Integer> csrGraph;
+    IncidentListGraph<Integer> incidentListGraph;
+    int source;
+
+    @Setup
+    public void setup() {
+        csrGraph = RoadNetwork.build(side, 42);
+        incidentListGraph = new IncidentListGraph<>(csrGraph.getAllVertices(), csrGraph.getAllEdges());
+        source = (side / 2) * side + side / 2;
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> csrGraph() {
+        return csrGraph.findShortestPaths(source, ShortestPathsStrategy.DELTA_STEPPING);
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> incidentListGraph() {
+        return incidentListGraph.findShortestPaths(source, ShortestPathsStrategy.DELTA_STEPPING);
+    }
+}
@@ -0,0 +1,49 @@
+package ru.nsu.fit.smolyakov.graph;
+
+import java.util.Random;
+
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
+
+/**
+ * Generates synthetic road networks: square grids of intersections where
+ * about a tenth of roads are missing, every road is two-way and has a random
+ * length, so a vertex has an out-degree about 4 and a diameter of a graph
+ * is about {@code 2 * side}, like in real road networks.
+ */
+final class RoadNetwork {
+    private static final int MAX_LENGTH = 1000;
+
+    private RoadNetwork() {}
+
+    /**
+     * Returns a road network of {@code side * side} intersections,
+     * where the intersection in a row {@code r} and a column {@code c}
+     * has an id {@code r * side + c}.
+     */
+    static CsrGraph<Integer> build(int side, long seed) {
+        var random = new Random(seed);
+        int count = side * side;
+        var builder = new CsrGraph.Builder<Integer>(count, 4 * count);
+        for (int i = 0; i < count; i++) {
+            builder.addVertex(i);
+        }
+
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int id = row * side + column;
+                if (column + 1 < side && random.nextInt(10) != 0) {
+                    addRoad(builder, id, id + 1, 1 + random.nextInt(MAX_LENGTH));
+                }
+                if (row + 1 < side && random.nextInt(10) != 0) {
+                    addRoad(builder, id, id + side, 1 + random.nextInt(MAX_LENGTH));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static void addRoad(CsrGraph.Builder<Integer> builder, int from, int to, int length) {
+        builder.addEdge(from, to, length);
+        builder.addEdge(to, from, length);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.nsu.fit.smolyakov.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
+import ru.nsu.fit.smolyakov.graph.csr.DeltaStepping;
+
+/**
+ * Compares sequential Dijkstra algorithm with parallel delta-stepping
+ * on synthetic road networks from 90 thousand up to 9 million intersections.
+ *
+ * <p>Dijkstra algorithm doesn't depend on {@code parallelism}, so it is
+ * better measured with {@code -p parallelism=1}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class ShortestPathsBenchmark {
+    @Param({"300", "1000", "3000"})
+    int side;
+
+    @Param({"1", "4", "16", "64"})
+    int parallelism;
+
+    CsrGraph<Integer> graph;
+    int source;
+    int delta;
+    ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        graph = RoadNetwork.build(side, 42);
+        source = (side / 2) * side + side / 2;
+        delta = DeltaStepping.defaultDelta(graph);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long[] dijkstra() {
+        return graph.shortestDistances(source);
+    }
+
+    @Benchmark
+    public long[] deltaStepping() {
+        return DeltaStepping.shortestDistances(graph, source, delta, pool);
+    }
+}
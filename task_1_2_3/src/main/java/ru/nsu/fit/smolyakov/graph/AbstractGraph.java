@@ -1,14 +1,20 @@
 package ru.nsu.fit.smolyakov.graph;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
-import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
 import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
 
 /**
@@ -143,12 +149,36 @@ public abstract class AbstractGraph<V> implements Graph<V> {
         return (IncidentListGraph<V>) switchGraphRepresentation(incidentList);
     }
 
+    /**
+     * A template for a copy constructor, which adds all vertices
+     * and edges of a specified {@code graph}.
+     *
+     * <p>Be sure that this method is called by the inheritor of this class
+     * at the moment when graph is clear and {@link addVertex} and {@link addEdge}
+     * methods are ready to use.
+     *
+     * <p>Default implementation enumerates edges by {@link #forEachEdge},
+     * so no sets of edges are collected. Representations are supposed
+     * to override it, filling their storage directly and pre-sized
+     * for {@link #verticesCount} and {@link #edgesCount} of a source.
+     *
+     * @param  graph  a graph to copy
+     *
+     * @throws UnsupportedOperationException  if this graph is immutable
+     */
+    protected void graphInstance(AbstractGraph<V> graph) {
+        graph.getAllVertices()
+            .forEach(this::addVertex);
+        graph.forEachEdge(this::addEdge);
+    }
+
     /**
      * Turns this {@link AbstractGraph} into a specified {@link AbstractGraph}.
      * 
      * <p>In default implementation specified {@code graph} will be cleared 
-     * by {@link clear} method if not empty, respectively be sure it's correct one. 
-     * It's also not optimised well, so it's highly recommended to override that.
+     * by {@link clear} method if not empty, respectively be sure it's correct one.
+     * Then it's filled by {@link #graphInstance(AbstractGraph)}, which
+     * enumerates this graph by {@link #forEachEdge}.
      * 
      * @param  graph  presentation to be turned into
      * @return this graph, represented as specified by {@code graph}
@@ -162,10 +192,49 @@ public abstract class AbstractGraph<V> implements Graph<V> {
             graph.clear();
         }
         
-        graph.graphInstance(getAllVertices(), getAllEdges());
+        graph.graphInstance(this);
         return graph;
     }
 
+    /**
+     * Performs specified {@code action} for every edge of this graph,
+     * in an unspecified order.
+     *
+     * <p>Default implementation iterates {@link getAdjacentEdges} of every
+     * vertex. Representations are supposed to override it, iterating
+     * their storage without creating {@link Edge} records.
+     *
+     * <p>This graph must not be changed by the {@code action}.
+     *
+     * @param  action  an action to perform for every edge
+     */
+    public void forEachEdge(EdgeConsumer<? super V> action) {
+        for (var vertex : getAllVertices()) {
+            for (var edge : getAdjacentEdges(vertex)) {
+                action.accept(edge.from(), edge.to(), edge.weight());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Default implementation iterates {@link getAdjacentEdges}.
+     * Representations are supposed to override it, iterating
+     * their storage without creating {@link Edge} records.
+     */
+    public boolean forEachNeighbor(V vertex, ObjIntConsumer<? super V> action) {
+        var edges = getAdjacentEdges(vertex);
+        if (edges == null) {
+            return false;
+        }
+
+        for (var edge : edges) {
+            action.accept(edge.to(), edge.weight());
+        }
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -182,6 +251,9 @@ public abstract class AbstractGraph<V> implements Graph<V> {
 
     /**
      * {@inheritDoc}
+     * 
+     * <p>Default implementation collects all the edges, so it takes O(V + E)
+     * time. It's recommended to override it with a maintained counter.
      */
     public int edgesCount() {
         return getAllEdges().size();
@@ -263,6 +335,25 @@ public abstract class AbstractGraph<V> implements Graph<V> {
      */
     public abstract Set<Edge<V>> getAdjacentEdges(V vertex);
 
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>Default implementation calls {@link getEdge} for every vertex 
+     * of this graph, so it takes time proportional to amount of vertices. 
+     * It's recommended to override it, if a representation allows 
+     * to find incoming edges faster.
+     */
+    public Set<Edge<V>> getIncomingEdges(V vertex) {
+        if (!vertexExists(vertex)) {
+            return null;
+        }
+
+        return getAllVertices().stream()
+            .map((from) -> getEdge(from, vertex))
+            .flatMap(Optional::stream)
+            .collect(Collectors.toSet());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -285,45 +376,176 @@ public abstract class AbstractGraph<V> implements Graph<V> {
     /**
      * Finds shortest paths from specified vertex to all the rest.
      * 
-     * <p>Implements Dijkstra shortest paths algorithm.
-     * As it uses priority queue to always keep current shortest paths naturally sorted, 
-     * this implementation is asymtotically effective.
+     * <p>Implements Dijkstra shortest paths algorithm. Vertices are mapped
+     * to dense ids, and an {@link IndexedMinHeap} with decrease-key is used,
+     * so every vertex is polled once with its final distance and this 
+     * implementation takes O((V + E) log V) time. Distances are accumulated 
+     * as {@code long}, so they don't overflow. Edges are enumerated by
+     * {@link #forEachNeighbor}, so no {@link Edge} records are created.
+     * 
+     * <p>Unreachable vertices, and vertices which distance exceeds
+     * {@link Integer#MAX_VALUE}, are mapped to {@link Integer#MAX_VALUE}.
      * 
-     * Edges with negative weights are not allowed due to peculiarities of an algorithm!
+     * <p>Edges with negative weights are not allowed due to peculiarities of an algorithm!
      * 
      * @param  s  a vertex to find shortest paths from 
      * @return a map containing shortest paths from {@code s} vertex to all.
-     * @throws IllegalStateException if one of edges has negative weight
-     * @throws NullPointerException  if one of vertices is {@code null} 
-     *                               (due to Java {@link PriorityQueue} contract)
+     * @throws IllegalStateException if one of edges reachable from {@code s}
+     *                               has negative weight
      * 
      * @see Map
-     * @see PriorityQueue
+     * @see IndexedMinHeap
      */
     public Map<V, Integer> findShortestPaths(V s) {
-        Map<V, Integer> weights = new HashMap<>();
-        getAllVertices().stream()
-            .forEach((vertex) -> weights.put(vertex, Integer.MAX_VALUE));
+        var vertices = getAllVertices();
+        int count = vertices.size();
+
+        @SuppressWarnings("unchecked")
+        V[] idToVertex = (V[]) new Object[count];
+        Map<V, Integer> vertexToId = new HashMap<>((int) (count / 0.75f) + 1);
+        for (var vertex : vertices) {
+            idToVertex[vertexToId.size()] = vertex;
+            vertexToId.put(vertex, vertexToId.size());
+        }
 
-        weights.replace(s, 0);
+        long[] distances = new long[count];
+        Arrays.fill(distances, Long.MAX_VALUE);
+
+        Integer source = vertexToId.get(s);
+        if (source != null) {
+            var heap = new IndexedMinHeap(count);
+            distances[source] = 0;
+            heap.decreaseKey(source, 0);
+
+            while (!heap.isEmpty()) {
+                int from = heap.poll();
+                forEachNeighbor(idToVertex[from], (vertex, weight) -> {
+                    if (weight < 0) {
+                        throw new IllegalStateException("negative weight edges are not supported");
+                    }
+
+                    int to = vertexToId.get(vertex);
+                    long newDistance = distances[from] + weight;
+                    if (newDistance < distances[to]) {
+                        distances[to] = newDistance;
+                        heap.decreaseKey(to, newDistance);
+                    }
+                });
+            }
+        }
 
-        PriorityQueue<V> heap = 
-            new PriorityQueue<>((a, b) -> Integer.compare(weights.get(a), weights.get(b)));
-        heap.addAll(weights.keySet());
+        Map<V, Integer> weights = new HashMap<>((int) (count / 0.75f) + 1);
+        for (int id = 0; id < count; id++) {
+            weights.put(idToVertex[id], (int) Math.min(distances[id], Integer.MAX_VALUE));
+        }
+        return weights;
+    }
+
+    /**
+     * Finds shortest paths from specified vertex to all the rest
+     * using specified algorithm.
+     * 
+     * <p>{@link ShortestPathsStrategy#DIJKSTRA} reuses {@link #findShortestPaths(Object)}.
+     * {@link ShortestPathsStrategy#DELTA_STEPPING} takes a {@link CsrGraph} snapshot
+     * of this graph first, which costs O(V + E) time and memory.
+     * 
+     * @param  s  a vertex to find shortest paths from 
+     * @param  strategy  an algorithm to use
+     * @return a map containing shortest paths from {@code s} vertex to all.
+     * @throws IllegalStateException if one of edges reachable from {@code s}
+     *                               has negative weight
+     * 
+     * @see Map
+     * @see ShortestPathsStrategy
+     */
+    public Map<V, Integer> findShortestPaths(V s, ShortestPathsStrategy strategy) {
+        return switch (strategy) {
+            case DIJKSTRA -> findShortestPaths(s);
+            case DELTA_STEPPING -> new CsrGraph<V>(this).findShortestPaths(s, strategy);
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>This implementation is {@link #findShortestPath(Object, Object, ToLongFunction)}
+     * with a zero heuristic, that is Dijkstra algorithm which stops as soon as
+     * {@code to} is reached.
+     * 
+     * @throws IllegalStateException if one of explored edges has negative weight
+     */
+    public Optional<Path<V>> findShortestPath(V from, V to) {
+        return findShortestPath(from, to, (vertex) -> 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>In this implementation only reached vertices are assigned dense ids,
+     * a predecessor of every reached vertex is tracked, and vertices are kept in an 
+     * {@link IndexedMinHeap}. A vertex is explored again only if a shorter 
+     * path to it is found, which is impossible with a consistent heuristic.
+     * 
+     * @throws IllegalStateException if one of explored edges has negative weight
+     */
+    public Optional<Path<V>> findShortestPath(V from, V to, ToLongFunction<? super V> heuristic) {
+        if (!vertexExists(from) || !vertexExists(to)) {
+            return Optional.empty();
+        }
+
+        // at most every vertex is reached, as many as the heap holds
+        int count = verticesCount();
+        Map<V, Integer> vertexToId = new HashMap<>();
+        List<V> idToVertex = new ArrayList<>();
+        long[] distances = new long[count];
+        long[] estimates = new long[count];
+        int[] predecessors = new int[count];
+
+        var heap = new IndexedMinHeap(count);
+        vertexToId.put(from, 0);
+        idToVertex.add(from);
+        predecessors[0] = -1;
+        heap.decreaseKey(0, heuristic.applyAsLong(from));
 
         while (!heap.isEmpty()) {
-            for (Edge<V> e : getAdjacentEdges(heap.poll())) {
-                if (e.weight() < 0) {
+            int current = heap.poll();
+            V vertex = idToVertex.get(current);
+            if (Objects.equals(vertex, to)) {
+                return Optional.of(buildPath(idToVertex, predecessors, current, distances[current]));
+            }
+
+            forEachNeighbor(vertex, (target, weight) -> {
+                if (weight < 0) {
                     throw new IllegalStateException("negative weight edges are not supported");
                 }
-                int newWeight = weights.get(e.from()) + e.weight();
-                if (newWeight < weights.get(e.to())) {
-                    weights.replace(e.to(), newWeight);
+
+                long newDistance = distances[current] + weight;
+                Integer next = vertexToId.get(target);
+                if (next == null) {
+                    next = idToVertex.size();
+                    vertexToId.put(target, next);
+                    idToVertex.add(target);
+                    estimates[next] = heuristic.applyAsLong(target);
+                } else if (newDistance >= distances[next]) {
+                    return;
                 }
-            }
+
+                distances[next] = newDistance;
+                predecessors[next] = current;
+                heap.decreaseKey(next, newDistance + estimates[next]);
+            });
         }
 
-        return weights;
+        return Optional.empty();
+    }
+
+    private static <V> Path<V> buildPath(List<V> idToVertex, int[] predecessors, int last, long length) {
+        var vertices = new ArrayList<V>();
+        for (int id = last; id >= 0; id = predecessors[id]) {
+            vertices.add(idToVertex.get(id));
+        }
+        Collections.reverse(vertices);
+        return new Path<>(Collections.unmodifiableList(vertices), length);
     }
 
     /**
@@ -331,6 +553,12 @@ public abstract class AbstractGraph<V> implements Graph<V> {
      * Hash code is the same for equal graphs, even differently
      * represented.
      * 
+     * <p>Hash code is a sum of {@link vertexHash} of all vertices and
+     * {@link edgeHash} of all edges, so it doesn't depend on an order and
+     * can be maintained incrementally by inheritors, which is recommended,
+     * as {@link equals} relies on it. Default implementation takes 
+     * O(V + E) time.
+     * 
      * @return the hash code for this graph
      */
     @Override
@@ -339,6 +567,28 @@ public abstract class AbstractGraph<V> implements Graph<V> {
                getAllEdges().hashCode();
     }
 
+    /**
+     * Returns a term of {@link hashCode} for a single vertex.
+     * 
+     * @param  vertex  a vertex
+     * @return a hash code of the vertex
+     */
+    protected static int vertexHash(Object vertex) {
+        return Objects.hashCode(vertex);
+    }
+
+    /**
+     * Returns a term of {@link hashCode} for a single edge.
+     * 
+     * @param  from  a vertex the edge comes from
+     * @param  to  a vertex the edge comes to
+     * @param  weight  a weight of the edge
+     * @return a hash code of the edge
+     */
+    protected static int edgeHash(Object from, Object to, int weight) {
+        return new Edge<Object>(from, to, weight).hashCode();
+    }
+
     /**
      * Compares the specified Object with this graph for equality. 
      * Returns {@code true} if and only if the specified object is also
@@ -362,6 +612,13 @@ public abstract class AbstractGraph<V> implements Graph<V> {
 
         AbstractGraph<V> other = (AbstractGraph<V>) obj;
 
+        // fast reject, as inheritors are supposed to maintain these
+        if (this.verticesCount() != other.verticesCount()
+            || this.edgesCount() != other.edgesCount()
+            || this.hashCode() != other.hashCode()) {
+            return false;
+        }
+
         var thisVertices = this.getAllVertices();
         var otherVertices = other.getAllVertices();
 
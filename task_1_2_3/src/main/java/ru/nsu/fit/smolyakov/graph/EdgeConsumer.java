@@ -0,0 +1,19 @@
+package ru.nsu.fit.smolyakov.graph;
+
+/**
+ * An operation which accepts an edge given by its vertices and weight,
+ * so that no {@link Edge} records have to be created.
+ *
+ * @see AbstractGraph#forEachEdge
+ */
+@FunctionalInterface
+public interface EdgeConsumer<V> {
+    /**
+     * Performs this operation on a specified edge.
+     *
+     * @param  from  a vertex an edge comes from
+     * @param  to  a vertex an edge comes to
+     * @param  weight  a weight of an edge
+     */
+    void accept(V from, V to, int weight);
+}
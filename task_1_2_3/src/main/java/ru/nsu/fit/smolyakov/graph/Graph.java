@@ -4,6 +4,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToLongFunction;
 
 /** 
  * A graph, an abstraction describing the relationship between lines (called edges) and points
@@ -222,6 +224,36 @@ public interface Graph<V> {
      */
     public Set<Edge<V>> getAdjacentEdges(V vertex);
 
+    /**
+     * Performs specified {@code action} for every edge coming from specified
+     * vertex, passing a vertex the edge comes to and its weight,
+     * in an unspecified order.
+     * 
+     * <p>Unlike {@link getAdjacentEdges}, no sets and {@link Edge} records
+     * have to be created, so traversal algorithms are supposed to use it.
+     * This graph must not be changed by the {@code action}.
+     * 
+     * @param  vertex  a vertex which adjacent edges are enumerated
+     * @param  action  an action to perform for every adjacent edge
+     * 
+     * @return {@code true} if the vertex exists,
+     *         {@code false} otherwise
+     * @see    ObjIntConsumer
+     */
+    public boolean forEachNeighbor(V vertex, ObjIntConsumer<? super V> action);
+
+    /**
+     * Returns a set of all edges coming to specified vertex,
+     * or {@code null} if the vertex doesn't exist.
+     * 
+     * @param  vertex  a vertex which incoming edges are returned
+     * 
+     * @return the set of edges coming to the specified vertex
+     * @see    Edge
+     * @see    Set
+     */
+    public Set<Edge<V>> getIncomingEdges(V vertex);
+
     /**
      * Returns a set of all vertices of this graph.
      * 
@@ -255,4 +287,51 @@ public interface Graph<V> {
      * @see Map
      */
     public Map<V, Integer> findShortestPaths(V s);
+
+    /**
+     * Finds shortest paths from specified vertex to all the rest
+     * using specified algorithm.
+     * 
+     * @param  s  a vertex to find shortest paths from 
+     * @param  strategy  an algorithm to use
+     * @return a map containing shortest paths from {@code s} vertex to all.
+     * 
+     * @see Map
+     * @see ShortestPathsStrategy
+     */
+    public Map<V, Integer> findShortestPaths(V s, ShortestPathsStrategy strategy);
+
+    /**
+     * Finds a shortest path between specified vertices. The search stops
+     * as soon as a path to {@code to} is found, so usually not the whole 
+     * graph is explored.
+     * 
+     * @param  from  a vertex a path starts with
+     * @param  to  a vertex a path ends with
+     * @return a shortest path, or {@link Optional#empty()} if there is no path
+     *         or no such vertices
+     * 
+     * @see Path
+     */
+    public Optional<Path<V>> findShortestPath(V from, V to);
+
+    /**
+     * Finds a shortest path between specified vertices using A* search,
+     * which explores vertices in order of their distance from {@code from}
+     * plus an estimated distance to {@code to}.
+     * 
+     * <p>A {@code heuristic} estimates a distance from a vertex to {@code to}.
+     * It must never overestimate a real distance, otherwise a found path may
+     * be not the shortest one. If it also satisfies {@code h(u) <= w(u, v) + h(v)}
+     * for every edge, every vertex is explored at most once.
+     * 
+     * @param  from  a vertex a path starts with
+     * @param  to  a vertex a path ends with
+     * @param  heuristic  an estimate of a distance from a vertex to {@code to}
+     * @return a shortest path, or {@link Optional#empty()} if there is no path
+     *         or no such vertices
+     * 
+     * @see Path
+     */
+    public Optional<Path<V>> findShortestPath(V from, V to, ToLongFunction<? super V> heuristic);
 }
@@ -0,0 +1,156 @@
+package ru.nsu.fit.smolyakov.graph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap of dense integer ids in range {@code [0, capacity)}
+ * ordered by {@code long} keys, which supports decreasing a key of
+ * an id already in the heap.
+ *
+ * <p>Position of every id in the heap is tracked, so {@link #decreaseKey}
+ * takes O(log n) and no stale entries are ever left in the heap, unlike
+ * with {@link java.util.PriorityQueue}. No objects are created
+ * after construction.
+ *
+ * <p>Used by shortest paths algorithms of {@link AbstractGraph}.
+ */
+public final class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] position;
+    private final long[] keys;
+    private int size = 0;
+
+    /**
+     * Constructs an empty heap for ids in range {@code [0, capacity)}.
+     *
+     * @param  capacity  amount of ids
+     */
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Returns if this heap contains no ids.
+     *
+     * @return {@code true} if this heap is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns if specified id is in this heap.
+     *
+     * @param  id  an id
+     * @return {@code true} if the id is in this heap
+     */
+    public boolean contains(int id) {
+        return position[id] >= 0;
+    }
+
+    /**
+     * Inserts an id with specified key, or decreases its key,
+     * if the id is already in this heap and the new key is smaller.
+     *
+     * @param  id  an id
+     * @param  key  a new key
+     * @return {@code true} if the id is inserted or its key is decreased
+     */
+    public boolean decreaseKey(int id, long key) {
+        int pos = position[id];
+        if (pos < 0) {
+            pos = size++;
+            heap[pos] = id;
+            position[id] = pos;
+        } else if (key >= keys[id]) {
+            return false;
+        }
+
+        keys[id] = key;
+        siftUp(pos);
+        return true;
+    }
+
+    /**
+     * Returns a key of the id with minimal key without removing it.
+     *
+     * @return the minimal key
+     * @throws NoSuchElementException  if this heap is empty
+     */
+    public long peekKey() {
+        if (size == 0) {
+            throw new NoSuchElementException("heap is empty");
+        }
+        return keys[heap[0]];
+    }
+
+    /**
+     * Removes and returns the id with minimal key.
+     *
+     * @return the id with minimal key
+     * @throws NoSuchElementException  if this heap is empty
+     */
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException("heap is empty");
+        }
+
+        int min = heap[0];
+        position[min] = -1;
+
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+
+        return min;
+    }
+
+    private void siftUp(int pos) {
+        int id = heap[pos];
+        long key = keys[id];
+
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (keys[heap[parent]] <= key) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            position[heap[pos]] = pos;
+            pos = parent;
+        }
+
+        heap[pos] = id;
+        position[id] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int id = heap[pos];
+        long key = keys[id];
+
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            if (keys[heap[child]] >= key) {
+                break;
+            }
+            heap[pos] = heap[child];
+            position[heap[pos]] = pos;
+            pos = child;
+        }
+
+        heap[pos] = id;
+        position[id] = pos;
+    }
+}
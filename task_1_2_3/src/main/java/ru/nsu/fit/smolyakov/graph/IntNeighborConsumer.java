@@ -0,0 +1,19 @@
+package ru.nsu.fit.smolyakov.graph;
+
+/**
+ * An operation which accepts an edge coming from a known vertex,
+ * given by an id of a vertex it comes to and its weight,
+ * so that neither {@link Edge} records nor boxed values have to be created.
+ *
+ * @see ru.nsu.fit.smolyakov.graph.csr.AbstractCsrGraph#forEachNeighbor(int, IntNeighborConsumer)
+ */
+@FunctionalInterface
+public interface IntNeighborConsumer {
+    /**
+     * Performs this operation on a specified edge.
+     *
+     * @param  to  an id of a vertex an edge comes to
+     * @param  weight  a weight of an edge
+     */
+    void accept(int to, int weight);
+}
@@ -0,0 +1,14 @@
+package ru.nsu.fit.smolyakov.graph;
+
+import java.util.List;
+
+/**
+ * Stores vertices of a path in a graph, in order from the first one
+ * to the last one, and a length of this path (a sum of weights of its edges).
+ *
+ * <p>A path from a vertex to itself consists of this only vertex
+ * and has zero length.
+ *
+ * @see Graph#findShortestPath
+ */
+public record Path<V>(List<V> vertices, long length) {}
@@ -0,0 +1,35 @@
+package ru.nsu.fit.smolyakov.graph;
+
+/**
+ * Single-source shortest paths algorithms which may be chosen
+ * for {@link Graph#findShortestPaths(Object, ShortestPathsStrategy)}.
+ *
+ * <p>Both algorithms don't allow edges with negative weights.
+ *
+ * @see Graph
+ */
+public enum ShortestPathsStrategy {
+    /**
+     * Sequential Dijkstra algorithm with an indexed heap,
+     * which runs directly over a graph.
+     *
+     * @see AbstractGraph#findShortestPaths(Object)
+     */
+    DIJKSTRA,
+
+    /**
+     * Parallel delta-stepping algorithm, which runs over a
+     * {@link ru.nsu.fit.smolyakov.graph.csr.CsrGraph} snapshot of a graph
+     * in the common {@link java.util.concurrent.ForkJoinPool}.
+     * Preferable for large graphs on multicore machines.
+     *
+     * <p>Any graph other than a {@code CsrGraph} or a graph loaded by
+     * {@link ru.nsu.fit.smolyakov.graph.csr.GraphSnapshot} is converted
+     * to a snapshot on every call, which costs O(V + E) time and memory,
+     * so a graph which is queried many times is better converted once by
+     * {@link ru.nsu.fit.smolyakov.graph.csr.CsrGraph#CsrGraph(Graph)}.
+     *
+     * @see ru.nsu.fit.smolyakov.graph.csr.DeltaStepping
+     */
+    DELTA_STEPPING
+}
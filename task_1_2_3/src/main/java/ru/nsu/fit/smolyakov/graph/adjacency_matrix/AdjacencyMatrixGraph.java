@@ -1,15 +1,18 @@
 package ru.nsu.fit.smolyakov.graph.adjacency_matrix;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.ObjIntConsumer;
 
 import ru.nsu.fit.smolyakov.graph.AbstractGraph;
 import ru.nsu.fit.smolyakov.graph.Edge;
+import ru.nsu.fit.smolyakov.graph.EdgeConsumer;
 
 
 /**
@@ -31,6 +34,13 @@ public class AdjacencyMatrixGraph<V> extends AbstractGraph<V>{
     private IntegerMatrix matrix = new IntegerMatrix();
     private Map<V, Integer> vertexToInteger = new HashMap<>();
 
+    // vertices by their ids, ids of removed vertices are never enumerated
+    private List<V> integerToVertex = new ArrayList<>();
+
+    // maintained on every change, see edgesCount and hashCode
+    private int edgesCount = 0;
+    private int hash = 0;
+
     /**
      * A no-args constructor for an empty graph.
      */
@@ -101,6 +111,73 @@ public class AdjacencyMatrixGraph<V> extends AbstractGraph<V>{
         }
 
         this.matrix = new IntegerMatrix(matrix);
+
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                if (matrix[row][column] != null) {
+                    edgesCount++;
+                    hash += edgeHash(verticesList.get(row), verticesList.get(column), matrix[row][column]);
+                }
+            }
+        }
+    }
+
+    /**
+     * A template for a copy constructor, which allocates a matrix
+     * for all vertices of a specified {@code graph} at once and fills it
+     * directly. Edges are enumerated by {@link AbstractGraph#forEachEdge},
+     * and a hash code is taken from the {@code graph}, as they are equal.
+     *
+     * <p>Be sure that this method is called when this graph is clear.
+     *
+     * @param  graph  a graph to copy
+     * @throws IllegalStateException  if the graph has too many vertices
+     *                                for an adjacency matrix
+     */
+    @Override
+    protected void graphInstance(AbstractGraph<V> graph) {
+        matrix = new IntegerMatrix(graph.verticesCount());
+        vertexToInteger = new HashMap<>((int) (graph.verticesCount() / 0.75f) + 1);
+        integerToVertex = new ArrayList<>(graph.verticesCount());
+        for (var vertex : graph.getAllVertices()) {
+            vertexToInteger.put(vertex, matrix.extend());
+            integerToVertex.add(vertex);
+        }
+
+        graph.forEachEdge((from, to, weight) ->
+            matrix.setValue(vertexToInteger.get(from), vertexToInteger.get(to), weight));
+        edgesCount = graph.edgesCount();
+        hash = graph.hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation scans the matrix row by row,
+     * skipping absent edges by 64 at a time.
+     */
+    @Override
+    public void forEachEdge(EdgeConsumer<? super V> action) {
+        matrix.forEachValue((row, column, weight) ->
+            action.accept(integerToVertex.get(row), integerToVertex.get(column), weight));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation scans a row of the matrix,
+     * skipping absent edges by 64 at a time.
+     */
+    @Override
+    public boolean forEachNeighbor(V vertex, ObjIntConsumer<? super V> action) {
+        var id = vertexToInteger.get(vertex);
+        if (id == null) {
+            return false;
+        }
+
+        matrix.forEachValueInRow(id, (row, column, weight) ->
+            action.accept(integerToVertex.get(column), weight));
+        return true;
     }
 
     /**
@@ -135,14 +212,19 @@ public class AdjacencyMatrixGraph<V> extends AbstractGraph<V>{
      * @param  vertex  a vertex to add
      * @return {@code true} if vertex successfully added, 
      *         {@code false} if it already existed.
+     * @throws IllegalStateException  if the matrix is too large to be extended,
+     *                                this graph is left unchanged then
      */
     @Override
     public boolean addVertex(V vertex) {
         if (vertexExists(vertex)) {
             return false;
         } else {
-            vertexToInteger.put(vertex, matrix.getSize());
-            matrix.extend();
+            // the matrix is extended first, as it may fail
+            int id = matrix.extend();
+            vertexToInteger.put(vertex, id);
+            integerToVertex.add(vertex);
+            hash += vertexHash(vertex);
             return true;
         }
     }
@@ -150,17 +232,37 @@ public class AdjacencyMatrixGraph<V> extends AbstractGraph<V>{
     /**
      * Removes a single vertex from this graph, if one exists.
      * 
+     * <p>Edges of the vertex are removed from the matrix, so it takes O(V) time,
+     * however its row and column are not reused.
+     * 
      * @param  vertex  a vertex to remove
      * @return {@code true} if vertex successfully removed,
      *         {@code false} if it's not presented in this graph.
      */
     @Override
     public boolean removeVertex(V vertex) {
-        if (vertexToInteger.remove(vertex) == null) {
+        var id = vertexToInteger.get(vertex);
+        if (id == null) {
             return false;
-        } else {
-            return true;
         }
+
+        for (var entry : vertexToInteger.entrySet()) {
+            int other = entry.getValue();
+            matrix.removeValue(id, other)
+                .ifPresent((weight) -> edgeRemoved(vertex, entry.getKey(), weight));
+            matrix.removeValue(other, id)
+                .ifPresent((weight) -> edgeRemoved(entry.getKey(), vertex, weight));
+        }
+
+        vertexToInteger.remove(vertex);
+        integerToVertex.set(id, null);
+        hash -= vertexHash(vertex);
+        return true;
+    }
+
+    private void edgeRemoved(V from, V to, int weight) {
+        edgesCount--;
+        hash -= edgeHash(from, to, weight);
     }
 
     /**
@@ -182,12 +284,14 @@ public class AdjacencyMatrixGraph<V> extends AbstractGraph<V>{
         var fromId = vertexToInteger.get(edge.from());
         var toId = vertexToInteger.get(edge.to());
 
-        if (fromId != null && toId != null) {
-            matrix.setValue(fromId, toId, edge.weight());
-            return true;
-        } else {
+        if (fromId == null || toId == null || matrix.getValue(fromId, toId).isPresent()) {
             return false;
         }
+
+        matrix.setValue(fromId, toId, edge.weight());
+        edgesCount++;
+        hash += edgeHash(edge.from(), edge.to(), edge.weight());
+        return true;
     }
 
     /**
@@ -209,25 +313,26 @@ public class AdjacencyMatrixGraph<V> extends AbstractGraph<V>{
         var fromId = vertexToInteger.get(from);
         var toId = vertexToInteger.get(to);
 
-        if (fromId != null && toId != null) {
-            return matrix.removeValue(fromId, toId);
-        } else {
+        if (fromId == null || toId == null) {
             return OptionalInt.empty();
         }
+
+        var oldWeight = matrix.removeValue(fromId, toId);
+        oldWeight.ifPresent((weight) -> edgeRemoved(from, to, weight));
+        return oldWeight;
     }
 
     /**
      * {@inheritDoc}
+     *
+     * <p>A new set is collected by {@link #forEachNeighbor},
+     * so {@link #forEachNeighbor} itself is preferable for traversals.
      */
     @Override
     public Set<Edge<V>> getAdjacentEdges(V from) {
-        var id = vertexToInteger.get(from);
-        if (id != null) {
-            return vertexToInteger.keySet()
-                .stream()
-                .map((to) -> getEdge(from, to))
-                .flatMap(Optional::stream)
-                .collect(Collectors.toSet());
+        Set<Edge<V>> edges = new HashSet<>();
+        if (forEachNeighbor(from, (to, weight) -> edges.add(new Edge<V>(from, to, weight)))) {
+            return edges;
         } else {
             return null;
         }
@@ -249,19 +354,109 @@ public class AdjacencyMatrixGraph<V> extends AbstractGraph<V>{
         var fromId = vertexToInteger.get(from);
         var toId = vertexToInteger.get(to);
 
-        if (fromId != null && toId != null) {
-            return matrix.setValue(fromId, toId, newWeight);
-        } else {
+        if (fromId == null || toId == null || matrix.getValue(fromId, toId).isEmpty()) {
             return OptionalInt.empty();
         }
+
+        var oldWeight = matrix.setValue(fromId, toId, newWeight);
+        hash += edgeHash(from, to, newWeight) - edgeHash(from, to, oldWeight.getAsInt());
+        return oldWeight;
     }   
 
+    /**
+     * Finds lengths of shortest paths between all pairs of vertices.
+     * 
+     * @return a matrix of lengths of shortest paths
+     * @throws IllegalStateException if this graph contains a negative cycle
+     * 
+     * @see #findAllShortestPaths(boolean)
+     */
+    public ShortestPathsMatrix<V> findAllShortestPaths() {
+        return findAllShortestPaths(false);
+    }
+
+    /**
+     * Finds lengths of shortest paths between all pairs of vertices
+     * and, optionally, next hops to reconstruct the paths.
+     * 
+     * <p>Implements a cache-blocked Floyd-Warshall algorithm over a copy of
+     * the adjacency matrix, running in parallel in the common
+     * {@link java.util.concurrent.ForkJoinPool} for large graphs. It takes
+     * O(V^3) time and V^2 ints of memory, or twice as much with paths.
+     * Unlike {@link #findShortestPaths}, edges with negative weights are allowed.
+     * 
+     * @param  withPaths  if next hops of paths have to be stored
+     * @return a matrix of lengths of shortest paths
+     * @throws IllegalStateException if this graph contains a negative cycle
+     * 
+     * @see ShortestPathsMatrix
+     */
+    public ShortestPathsMatrix<V> findAllShortestPaths(boolean withPaths) {
+        int size = vertexToInteger.size();
+        List<V> vertices = new ArrayList<>(size);
+        int[] ids = new int[size];
+        for (var entry : vertexToInteger.entrySet()) {
+            ids[vertices.size()] = entry.getValue();
+            vertices.add(entry.getKey());
+        }
+
+        int[] distances = matrix.toArray(ids, FloydWarshall.NO_PATH);
+        int[] next = null;
+        if (withPaths) {
+            next = new int[size * size];
+            for (int i = 0; i < next.length; i++) {
+                next[i] = (distances[i] == FloydWarshall.NO_PATH) ? -1 : i % size;
+            }
+        }
+        for (int id = 0; id < size; id++) {
+            int diagonal = id * size + id;
+            if (distances[diagonal] > 0) {
+                distances[diagonal] = 0;
+                if (next != null) {
+                    next[diagonal] = id;
+                }
+            }
+        }
+
+        FloydWarshall.run(distances, next, size);
+
+        for (int id = 0; id < size; id++) {
+            if (distances[id * size + id] < 0) {
+                throw new IllegalStateException("graph contains a negative cycle");
+            }
+        }
+        return new ShortestPathsMatrix<>(vertices, distances, next);
+    }
+
     /**
      * Turns a graph into an empty state.
      */
     @Override
     public void clear() {
         vertexToInteger.clear();
+        integerToVertex.clear();
         matrix = new IntegerMatrix();
+        edgesCount = 0;
+        hash = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>This implementation returns a maintained counter.
+     */
+    @Override
+    public int edgesCount() {
+        return edgesCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>This implementation returns a hash code maintained on every change.
+     */
+    @Override
+    public int hashCode() {
+        return hash;
     }
 }
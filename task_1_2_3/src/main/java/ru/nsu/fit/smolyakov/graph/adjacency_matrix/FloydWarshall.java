@@ -0,0 +1,102 @@
+package ru.nsu.fit.smolyakov.graph.adjacency_matrix;
+
+import java.util.stream.IntStream;
+
+/*
+ * Cache-blocked multi-threaded Floyd-Warshall algorithm over a row-major
+ * int matrix of distances, where Integer.MAX_VALUE stands for no path.
+ * For internal use only.
+ *
+ * The matrix is split into BLOCK * BLOCK tiles, which fit into a cache.
+ * For every diagonal tile, the tile itself is updated first, then
+ * the tiles of its row and column in parallel, then all the other tiles
+ * in parallel, as each of them depends only on the tiles updated before.
+ */
+final class FloydWarshall {
+    static final int NO_PATH = Integer.MAX_VALUE;
+
+    private static final int BLOCK = 64;
+    // smaller matrices are not worth running in parallel
+    private static final int PARALLEL_THRESHOLD = 4 * BLOCK;
+
+    private final int[] distances;
+    private final int[] next;
+    private final int size;
+
+    private FloydWarshall(int[] distances, int[] next, int size) {
+        this.distances = distances;
+        this.next = next;
+        this.size = size;
+    }
+
+    /*
+     * Replaces weights of edges in distances with lengths of shortest paths,
+     * and, if next is not null, its cells with the second vertices of the paths.
+     */
+    static void run(int[] distances, int[] next, int size) {
+        new FloydWarshall(distances, next, size).run();
+    }
+
+    private void run() {
+        int blocks = (size + BLOCK - 1) / BLOCK;
+
+        for (int k = 0; k < blocks; k++) {
+            final int kb = k;
+            update(kb, kb, kb);
+
+            range(blocks).forEach((b) -> {
+                if (b != kb) {
+                    update(kb, b, kb);
+                    update(b, kb, kb);
+                }
+            });
+
+            range(blocks * blocks).forEach((ij) -> {
+                int ib = ij / blocks;
+                int jb = ij % blocks;
+                if (ib != kb && jb != kb) {
+                    update(ib, jb, kb);
+                }
+            });
+        }
+    }
+
+    private IntStream range(int count) {
+        var range = IntStream.range(0, count);
+        return (size < PARALLEL_THRESHOLD) ? range : range.parallel();
+    }
+
+    // relaxes paths from a tile (ib, jb) through vertices of a diagonal tile kb
+    private void update(int ib, int jb, int kb) {
+        int iEnd = Math.min(size, (ib + 1) * BLOCK);
+        int jStart = jb * BLOCK;
+        int jEnd = Math.min(size, jStart + BLOCK);
+        int kEnd = Math.min(size, (kb + 1) * BLOCK);
+
+        for (int k = kb * BLOCK; k < kEnd; k++) {
+            int kRow = k * size;
+            for (int i = ib * BLOCK; i < iEnd; i++) {
+                int iRow = i * size;
+                int ik = distances[iRow + k];
+                if (ik == NO_PATH) {
+                    continue;
+                }
+
+                for (int j = jStart; j < jEnd; j++) {
+                    int kj = distances[kRow + j];
+                    if (kj == NO_PATH) {
+                        continue;
+                    }
+
+                    long path = (long) ik + kj;
+                    if (path < distances[iRow + j]) {
+                        distances[iRow + j] = (int) Math.max(path, Integer.MIN_VALUE);
+                        if (next != null) {
+                            next[iRow + j] = next[iRow + k];
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
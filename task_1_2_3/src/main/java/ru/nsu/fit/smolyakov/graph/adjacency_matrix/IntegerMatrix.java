@@ -1,18 +1,37 @@
 package ru.nsu.fit.smolyakov.graph.adjacency_matrix;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.OptionalInt;
 
-/* 
+/*
  * An extendable self-resizing implementation of a matrix.
  * For internal use only.
+ *
+ * Cells are stored row by row in a single int array with a row length
+ * equal to capacity, and presence of values is marked in a bitset,
+ * so a cell costs 4 bytes and a bit. Capacity grows geometrically,
+ * so extending a matrix by one row and column is amortized O(size).
  */
 class IntegerMatrix {
-    private ArrayList<ArrayList<Integer>> matrix = new ArrayList<>();
+    // capacity * capacity must fit into an array
+    private static final int MAX_CAPACITY = 46340;
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int[] cells;
+    private long[] present;
+    private int capacity;
     private int size = 0;
 
-    IntegerMatrix() {}
+    IntegerMatrix() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    // an empty matrix, which can be extended up to capacity rows without growing
+    IntegerMatrix(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("matrix is too large");
+        }
+        allocate(Math.max(capacity, DEFAULT_CAPACITY));
+    }
 
     IntegerMatrix(Integer[][] matrix) {
         size = matrix.length;
@@ -20,49 +39,162 @@ class IntegerMatrix {
             throw new IllegalArgumentException("input 2d array is not a matrix");
         }
 
-        for (int i = 0; i < size; i++) {
-            this.matrix.add(i, new ArrayList<>(Arrays.asList(matrix[i])));
+        allocate(Math.max(size, DEFAULT_CAPACITY));
+        for (int row = 0; row < size; row++) {
+            if (matrix[row].length != size) {
+                throw new IllegalArgumentException("input 2d array is not a matrix");
+            }
+            for (int column = 0; column < size; column++) {
+                if (matrix[row][column] != null) {
+                    setValue(row, column, matrix[row][column]);
+                }
+            }
         }
     }
 
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        long cellsCount = (long) capacity * capacity;
+        cells = new int[(int) cellsCount];
+        present = new long[(int) ((cellsCount + 63) >>> 6)];
+    }
+
     int extend() {
-        for (var row : matrix) {
-            row.add(null);
+        if (size == capacity) {
+            if (capacity == MAX_CAPACITY) {
+                throw new IllegalStateException("matrix is too large");
+            }
+            grow((int) Math.min(MAX_CAPACITY, capacity + (capacity >> 1) + 1L));
         }
 
-        matrix.add(size, new ArrayList<>(Arrays.asList(new Integer[size+1])));
         return size++;
     }
 
+    private void grow(int newCapacity) {
+        int[] oldCells = cells;
+        long[] oldPresent = present;
+        int oldCapacity = capacity;
+
+        allocate(newCapacity);
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(oldCells, row * oldCapacity, cells, row * capacity, size);
+            for (int column = 0; column < size; column++) {
+                int oldIndex = row * oldCapacity + column;
+                if ((oldPresent[oldIndex >>> 6] & (1L << oldIndex)) != 0) {
+                    set(index(row, column));
+                }
+            }
+        }
+    }
+
+    private int index(int row, int column) {
+        return row * capacity + column;
+    }
+
+    private boolean isPresent(int index) {
+        return (present[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private void set(int index) {
+        present[index >>> 6] |= 1L << index;
+    }
+
+    private void clear(int index) {
+        present[index >>> 6] &= ~(1L << index);
+    }
+
     OptionalInt getValue(int row, int column) {
         if (row >= size || column >= size) {
             return OptionalInt.empty();
         }
 
-        Integer val = matrix.get(row).get(column);
+        int index = index(row, column);
+        return isPresent(index) ? OptionalInt.of(cells[index]) : OptionalInt.empty();
+    }
 
-        if (val == null) {
+    OptionalInt setValue(int row, int column, int val) {
+        if (row >= size || column >= size) {
             return OptionalInt.empty();
-        } else {
-            return OptionalInt.of(val);
         }
+
+        var oldVal = getValue(row, column);
+        int index = index(row, column);
+        cells[index] = val;
+        set(index);
+        return oldVal;
     }
 
-    OptionalInt setValue(int row, int column, Integer val) {
+    OptionalInt removeValue(int row, int column) {
         if (row >= size || column >= size) {
             return OptionalInt.empty();
-        } else {
-            var oldVal = getValue(row, column);
-            matrix.get(row).set(column, val);
-            return oldVal;
         }
-    }
 
-    OptionalInt removeValue(int row, int column) {
-        return setValue(row, column, null);
+        var oldVal = getValue(row, column);
+        clear(index(row, column));
+        return oldVal;
     }
-    
+
     int getSize() {
         return size;
     }
+
+    interface CellConsumer {
+        void accept(int row, int column, int value);
+    }
+
+    /*
+     * Performs an action for every present value, row by row.
+     */
+    void forEachValue(CellConsumer action) {
+        for (int row = 0; row < size; row++) {
+            forEachValueInRow(row, action);
+        }
+    }
+
+    /*
+     * Performs an action for every present value of a row, in order of columns.
+     * Presence bits are scanned by words, so absent cells are skipped
+     * 64 at a time.
+     */
+    void forEachValueInRow(int row, CellConsumer action) {
+        if (row >= size) {
+            return;
+        }
+
+        int start = index(row, 0);
+        int last = start + size - 1;
+        for (int word = start >>> 6; word <= last >>> 6; word++) {
+            long bits = present[word];
+            if (word == start >>> 6) {
+                bits &= -1L << start;
+            }
+            if (word == last >>> 6) {
+                bits &= -1L >>> (63 - (last & 63));
+            }
+
+            while (bits != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                action.accept(row, index - start, cells[index]);
+            }
+        }
+    }
+
+    /*
+     * Copies a submatrix made of specified rows and columns into a new
+     * row-major array of size ids.length * ids.length, writing absent
+     * values as a specified one.
+     */
+    int[] toArray(int[] ids, int absent) {
+        int count = ids.length;
+        int[] array = new int[count * count];
+        for (int row = 0; row < count; row++) {
+            int rowStart = ids[row] * capacity;
+            for (int column = 0; column < count; column++) {
+                int index = rowStart + ids[column];
+                array[row * count + column] = isPresent(index) ? cells[index] : absent;
+            }
+        }
+        return array;
+    }
 }
@@ -0,0 +1,163 @@
+package ru.nsu.fit.smolyakov.graph.adjacency_matrix;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lengths of shortest paths between all pairs of vertices of a graph,
+ * found by {@link AdjacencyMatrixGraph#findAllShortestPaths}.
+ *
+ * <p>Lengths are stored in a single row-major {@code int} array indexed by
+ * dense ids of vertices in range {@code [0, size())}, so a pair of vertices
+ * costs 4 bytes, or 8 bytes if paths themselves can be reconstructed.
+ * Absent paths have a length of {@link Integer#MAX_VALUE}, as in
+ * {@link ru.nsu.fit.smolyakov.graph.Graph#findShortestPaths}.
+ *
+ * <p>This matrix is a snapshot and is not changed with a graph.
+ *
+ * @see AdjacencyMatrixGraph
+ */
+public final class ShortestPathsMatrix<V> {
+    private final List<V> vertices;
+    private final Map<V, Integer> vertexToInteger;
+    private final int[] distances;
+    private final int[] next;
+
+    ShortestPathsMatrix(List<V> vertices, int[] distances, int[] next) {
+        this.vertices = Collections.unmodifiableList(vertices);
+        this.vertexToInteger = new HashMap<>();
+        for (int id = 0; id < vertices.size(); id++) {
+            vertexToInteger.put(vertices.get(id), id);
+        }
+        this.distances = distances;
+        this.next = next;
+    }
+
+    /**
+     * Returns amount of vertices of this matrix.
+     *
+     * @return amount of vertices
+     */
+    public int size() {
+        return vertices.size();
+    }
+
+    /**
+     * Returns a list of all vertices, ordered by their ids.
+     *
+     * @return an unmodifiable list of vertices
+     */
+    public List<V> getVertices() {
+        return vertices;
+    }
+
+    /**
+     * Returns an id of specified vertex, or -1 if there is no such vertex.
+     *
+     * @param  vertex  a vertex
+     * @return an id of the vertex or -1
+     */
+    public int vertexId(V vertex) {
+        Integer id = vertexToInteger.get(vertex);
+        return (id == null) ? -1 : id;
+    }
+
+    /**
+     * Returns if paths can be reconstructed by {@link #getPath}.
+     *
+     * @return {@code true} if this matrix contains next hops of paths
+     */
+    public boolean hasPaths() {
+        return next != null;
+    }
+
+    /**
+     * Returns a length of a shortest path between vertices with specified ids.
+     *
+     * @param  from  an id of a vertex a path starts with
+     * @param  to  an id of a vertex a path ends with
+     * @return a length of a shortest path or {@link Integer#MAX_VALUE}, if there is no path
+     * @throws IndexOutOfBoundsException  if there is no vertex with such id
+     */
+    public int getDistance(int from, int to) {
+        return distances[index(from, to)];
+    }
+
+    /**
+     * Returns a length of a shortest path between specified vertices.
+     *
+     * @param  from  a vertex a path starts with
+     * @param  to  a vertex a path ends with
+     * @return a length of a shortest path or {@link Integer#MAX_VALUE}, if there is no path
+     * @throws IllegalArgumentException  if there is no such vertex
+     */
+    public int getDistance(V from, V to) {
+        return distances[index(checkedId(from), checkedId(to))];
+    }
+
+    /**
+     * Returns lengths of shortest paths from specified vertex to all the rest,
+     * in the same form as {@link ru.nsu.fit.smolyakov.graph.Graph#findShortestPaths}.
+     *
+     * @param  from  a vertex paths start with
+     * @return a map containing shortest paths from {@code from} vertex to all
+     * @throws IllegalArgumentException  if there is no such vertex
+     */
+    public Map<V, Integer> getShortestPaths(V from) {
+        int row = checkedId(from) * size();
+        Map<V, Integer> paths = new HashMap<>();
+        for (int to = 0; to < size(); to++) {
+            paths.put(vertices.get(to), distances[row + to]);
+        }
+        return paths;
+    }
+
+    /**
+     * Reconstructs a shortest path between specified vertices.
+     *
+     * @param  from  a vertex a path starts with
+     * @param  to  a vertex a path ends with
+     * @return a list of vertices of the path including {@code from} and {@code to},
+     *         or {@link Optional#empty()}, if there is no path
+     * @throws IllegalArgumentException  if there is no such vertex
+     * @throws IllegalStateException  if this matrix doesn't contain next hops of paths
+     */
+    public Optional<List<V>> getPath(V from, V to) {
+        if (next == null) {
+            throw new IllegalStateException("paths were not requested");
+        }
+
+        int fromId = checkedId(from);
+        int toId = checkedId(to);
+        if (distances[index(fromId, toId)] == FloydWarshall.NO_PATH) {
+            return Optional.empty();
+        }
+
+        List<V> path = new ArrayList<>();
+        path.add(from);
+        for (int id = fromId; id != toId; ) {
+            id = next[index(id, toId)];
+            path.add(vertices.get(id));
+        }
+        return Optional.of(path);
+    }
+
+    private int checkedId(V vertex) {
+        Integer id = vertexToInteger.get(vertex);
+        if (id == null) {
+            throw new IllegalArgumentException("no such vertex");
+        }
+        return id;
+    }
+
+    private int index(int from, int to) {
+        if (from < 0 || from >= size() || to < 0 || to >= size()) {
+            throw new IndexOutOfBoundsException("no vertex with such id");
+        }
+        return from * size() + to;
+    }
+}
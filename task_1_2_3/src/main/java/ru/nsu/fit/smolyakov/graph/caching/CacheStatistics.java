@@ -0,0 +1,22 @@
+package ru.nsu.fit.smolyakov.graph.caching;
+
+/**
+ * Stores counters of a {@link CachingGraph} cache: requests answered from
+ * the cache ({@code hits}), requests which needed a search ({@code misses}),
+ * results dropped to respect the capacity ({@code evictions}) and results
+ * dropped because the graph was changed ({@code invalidations}).
+ *
+ * @see CachingGraph#getStatistics
+ */
+public record CacheStatistics(long hits, long misses, long evictions, long invalidations) {
+    /**
+     * Returns a part of requests answered from the cache,
+     * or 0 if there were no requests.
+     *
+     * @return a hit rate from 0 to 1
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return (requests == 0) ? 0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,418 @@
+package ru.nsu.fit.smolyakov.graph.caching;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import ru.nsu.fit.smolyakov.graph.AbstractGraph;
+import ru.nsu.fit.smolyakov.graph.Edge;
+import ru.nsu.fit.smolyakov.graph.EdgeConsumer;
+import ru.nsu.fit.smolyakov.graph.Graph;
+import ru.nsu.fit.smolyakov.graph.Path;
+import ru.nsu.fit.smolyakov.graph.ShortestPathsStrategy;
+
+/**
+ * A decorator over any {@link Graph}, which memoizes results of
+ * {@link #findShortestPaths} for recently used sources.
+ *
+ * <p>At most {@code capacity} results are kept, the least recently used one
+ * is evicted first. All changes of the graph have to be made through this
+ * decorator, so that it invalidates results which may be affected by them:
+ * <ul>
+ * <li>adding a vertex keeps all results, the vertex is unreachable from them;
+ * <li>removing a vertex keeps results which sources don't reach it;
+ * <li>adding an edge or decreasing its weight keeps results which sources
+ *     don't reach its start, or reach its end not longer by another path;
+ * <li>removing an edge or increasing its weight keeps results which sources
+ *     don't reach its start, or reach its end strictly shorter by another path;
+ * <li>clearing drops all results.
+ * </ul>
+ *
+ * <p>Results of {@link #findShortestPaths} are unmodifiable, and so are all
+ * sets of vertices and edges returned by this decorator, so that a graph
+ * can't be changed bypassing it. Shortest paths algorithms don't allow
+ * edges with negative weights, so an edge with negative weight reachable
+ * from a source always invalidates its result.
+ *
+ * <p>This class is not synchronized.
+ *
+ * @see Graph
+ * @see CacheStatistics
+ */
+public class CachingGraph<V> extends AbstractGraph<V> {
+    private final Graph<V> graph;
+    private final int capacity;
+    private final Map<V, Map<V, Integer>> cache;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long invalidations = 0;
+
+    /**
+     * Constructs a decorator over specified {@code graph}, which keeps
+     * results for at most {@code capacity} sources.
+     *
+     * @param  graph  a graph to decorate
+     * @param  capacity  maximal amount of memoized results
+     * @throws IllegalArgumentException  if {@code capacity} is not positive
+     */
+    public CachingGraph(Graph<V> graph, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+
+        this.graph = Objects.requireNonNull(graph);
+        this.capacity = capacity;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<V, Map<V, Integer>> eldest) {
+                if (size() > CachingGraph.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns current values of cache counters.
+     *
+     * @return cache counters
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hits, misses, evictions, invalidations);
+    }
+
+    /**
+     * Returns amount of currently memoized results.
+     *
+     * @return amount of memoized results
+     */
+    public int cachedCount() {
+        return cache.size();
+    }
+
+    /**
+     * Drops all memoized results. Counters are not reset.
+     */
+    public void invalidateAll() {
+        invalidations += cache.size();
+        cache.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A result is memoized, and an unmodifiable map is returned.
+     */
+    @Override
+    public Map<V, Integer> findShortestPaths(V s) {
+        return findShortestPaths(s, ShortestPathsStrategy.DIJKSTRA);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A result is memoized regardless of an algorithm,
+     * and an unmodifiable map is returned.
+     */
+    @Override
+    public Map<V, Integer> findShortestPaths(V s, ShortestPathsStrategy strategy) {
+        var paths = cache.get(s);
+        if (paths != null) {
+            hits++;
+        } else {
+            misses++;
+            paths = Collections.unmodifiableMap(graph.findShortestPaths(s, strategy));
+            cache.put(s, paths);
+        }
+        return paths;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Path<V>> findShortestPath(V from, V to) {
+        return graph.findShortestPath(from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Path<V>> findShortestPath(V from, V to, ToLongFunction<? super V> heuristic) {
+        return graph.findShortestPath(from, to, heuristic);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addVertex(V vertex) {
+        if (!graph.addVertex(vertex)) {
+            return false;
+        }
+
+        // a result for an absent source is not valid anymore
+        if (cache.remove(vertex) != null) {
+            invalidations++;
+        }
+
+        // results are unmodifiable, so they are copied
+        for (var entry : cache.entrySet()) {
+            var paths = new HashMap<>(entry.getValue());
+            paths.put(vertex, Integer.MAX_VALUE);
+            entry.setValue(Collections.unmodifiableMap(paths));
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeVertex(V vertex) {
+        if (!graph.removeVertex(vertex)) {
+            return false;
+        }
+
+        for (var iter = cache.entrySet().iterator(); iter.hasNext(); ) {
+            var entry = iter.next();
+            if (Objects.equals(entry.getKey(), vertex)
+                || distance(entry.getValue(), vertex) != Integer.MAX_VALUE) {
+                iter.remove();
+                invalidations++;
+            } else {
+                var paths = new HashMap<>(entry.getValue());
+                paths.remove(vertex);
+                entry.setValue(Collections.unmodifiableMap(paths));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addEdge(Edge<V> edge) {
+        // weights before and after are read defensively, as the decorated
+        // graph may be any implementation of Graph
+        var oldWeight = graph.getEdgeWeight(edge.from(), edge.to());
+        if (!graph.addEdge(edge)) {
+            return false;
+        }
+
+        edgeChanged(edge.from(), edge.to(), oldWeight, graph.getEdgeWeight(edge.from(), edge.to()));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OptionalInt removeEdge(V from, V to) {
+        var oldWeight = graph.removeEdge(from, to);
+        edgeChanged(from, to, oldWeight, OptionalInt.empty());
+        return oldWeight;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OptionalInt reweightEdge(V from, V to, int newWeight) {
+        // a weight after is read defensively, see addEdge
+        var oldWeight = graph.reweightEdge(from, to, newWeight);
+        edgeChanged(from, to, oldWeight, graph.getEdgeWeight(from, to));
+        return oldWeight;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        graph.clear();
+        invalidateAll();
+    }
+
+    private void edgeChanged(V from, V to, OptionalInt oldWeight, OptionalInt newWeight) {
+        if (newWeight.isPresent()
+            && (oldWeight.isEmpty() || newWeight.getAsInt() < oldWeight.getAsInt())) {
+            invalidateIf((paths) -> mayShorten(paths, from, to, newWeight.getAsInt()));
+        } else if (oldWeight.isPresent()
+            && (newWeight.isEmpty() || newWeight.getAsInt() > oldWeight.getAsInt())) {
+            invalidateIf((paths) -> mayLengthen(paths, from, to, oldWeight.getAsInt()));
+        }
+    }
+
+    private void invalidateIf(Predicate<Map<V, Integer>> affected) {
+        for (Iterator<Map<V, Integer>> iter = cache.values().iterator(); iter.hasNext(); ) {
+            if (affected.test(iter.next())) {
+                iter.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    private static <V> int distance(Map<V, Integer> paths, V vertex) {
+        return paths.getOrDefault(vertex, Integer.MAX_VALUE);
+    }
+
+    // if an edge from -> to is added, paths through it are not longer than others
+    private static <V> boolean mayShorten(Map<V, Integer> paths, V from, V to, int weight) {
+        int fromDistance = distance(paths, from);
+        if (fromDistance == Integer.MAX_VALUE) {
+            return false;
+        }
+        return weight < 0 || (long) fromDistance + weight < distance(paths, to);
+    }
+
+    // if an edge from -> to is removed, some shortest path may go through it
+    private static <V> boolean mayLengthen(Map<V, Integer> paths, V from, V to, int weight) {
+        int fromDistance = distance(paths, from);
+        if (fromDistance == Integer.MAX_VALUE) {
+            return false;
+        }
+        return (long) fromDistance + weight <= distance(paths, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return graph.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int verticesCount() {
+        return graph.verticesCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgesCount() {
+        return graph.edgesCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean vertexExists(V vertex) {
+        return graph.vertexExists(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean edgeExists(V from, V to) {
+        return graph.edgeExists(from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OptionalInt getEdgeWeight(V from, V to) {
+        return graph.getEdgeWeight(from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Edge<V>> getEdge(V from, V to) {
+        return graph.getEdge(from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Edge<V>> getAdjacentEdges(V vertex) {
+        return unmodifiable(graph.getAdjacentEdges(vertex));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Edge<V>> getIncomingEdges(V vertex) {
+        return unmodifiable(graph.getIncomingEdges(vertex));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<V> getAllVertices() {
+        return unmodifiable(graph.getAllVertices());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Edge<V>> getAllEdges() {
+        return unmodifiable(graph.getAllEdges());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean forEachNeighbor(V vertex, ObjIntConsumer<? super V> action) {
+        return graph.forEachNeighbor(vertex, action);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation delegates to the decorated graph,
+     * if it's an {@link AbstractGraph}.
+     */
+    @Override
+    public void forEachEdge(EdgeConsumer<? super V> action) {
+        if (graph instanceof AbstractGraph<V> abstractGraph) {
+            abstractGraph.forEachEdge(action);
+        } else {
+            super.forEachEdge(action);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation returns a hash code of the decorated graph,
+     * if it's an {@link AbstractGraph}.
+     */
+    @Override
+    public int hashCode() {
+        return (graph instanceof AbstractGraph) ? graph.hashCode() : super.hashCode();
+    }
+
+    private static <T> Set<T> unmodifiable(Set<T> set) {
+        return (set == null) ? null : Collections.unmodifiableSet(set);
+    }
+}
@@ -0,0 +1,593 @@
+package ru.nsu.fit.smolyakov.graph.csr;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToLongFunction;
+
+import ru.nsu.fit.smolyakov.graph.AbstractGraph;
+import ru.nsu.fit.smolyakov.graph.Edge;
+import ru.nsu.fit.smolyakov.graph.EdgeConsumer;
+import ru.nsu.fit.smolyakov.graph.IndexedMinHeap;
+import ru.nsu.fit.smolyakov.graph.IntNeighborConsumer;
+import ru.nsu.fit.smolyakov.graph.Path;
+import ru.nsu.fit.smolyakov.graph.ShortestPathsStrategy;
+
+/**
+ * This class provides a skeletal implementation of an immutable compressed
+ * sparse row (CSR) graph representation, leaving storage of edges to inheritors.
+ *
+ * <p>Vertices are interned to dense integer ids. Edges coming from a vertex
+ * with id {@code i} occupy positions {@code [edgesStart(i), edgesEnd(i))}
+ * and are sorted by target, so an edge is found by a binary search.
+ * Inheritors only provide {@link #edgesStart}, {@link #edgesEnd},
+ * {@link #edgeTarget}, {@link #edgeWeight} and {@link #edgesCount},
+ * and all queries and algorithms are implemented over them.
+ *
+ * <p>All mutating methods throw {@link UnsupportedOperationException}.
+ *
+ * @see CsrGraph
+ * @see MappedCsrGraph
+ */
+public abstract class AbstractCsrGraph<V> extends AbstractGraph<V> {
+    private final V[] vertices;
+    private final Map<V, Integer> vertexToInteger;
+
+    // computed on demand, as this graph is immutable, 0 until then.
+    // A single field is read once, so a racy publication is benign
+    private int hash;
+
+    // inheritors are limited to this package
+    AbstractCsrGraph(V[] vertices, Map<V, Integer> vertexToInteger) {
+        this.vertices = vertices;
+        this.vertexToInteger = vertexToInteger;
+    }
+
+    /**
+     * Returns a dense id of specified vertex, which is in range
+     * {@code [0, verticesCount())}, or -1 if the vertex doesn't exist.
+     *
+     * @param  vertex  a vertex
+     * @return an id of the vertex or -1
+     */
+    public int vertexId(V vertex) {
+        Integer id = vertexToInteger.get(vertex);
+        return (id == null) ? -1 : id;
+    }
+
+    /**
+     * Returns a vertex with specified id.
+     *
+     * @param  id  an id of a vertex
+     * @return a vertex
+     * @throws IndexOutOfBoundsException  if there is no vertex with specified id
+     */
+    public V getVertex(int id) {
+        return vertices[id];
+    }
+
+    /**
+     * Returns a position of the first edge coming from the vertex
+     * with specified id. Edges of this vertex are located at positions
+     * {@code [edgesStart(id), edgesEnd(id))} and sorted by target ids.
+     *
+     * @param  id  an id of a vertex
+     * @return a position of the first edge of the vertex
+     */
+    public abstract int edgesStart(int id);
+
+    /**
+     * Returns a position after the last edge coming from
+     * the vertex with specified id.
+     *
+     * @param  id  an id of a vertex
+     * @return a position after the last edge of the vertex
+     * @see    #edgesStart
+     */
+    public abstract int edgesEnd(int id);
+
+    /**
+     * Returns an id of a vertex an edge at specified position comes to.
+     *
+     * @param  position  a position of an edge
+     * @return an id of a target vertex
+     */
+    public abstract int edgeTarget(int position);
+
+    /**
+     * Returns a weight of an edge at specified position.
+     *
+     * @param  position  a position of an edge
+     * @return a weight of the edge
+     */
+    public abstract int edgeWeight(int position);
+
+    // a position of an edge or a negative value if there is no one
+    private int findEdge(int from, int to) {
+        int low = edgesStart(from);
+        int high = edgesEnd(from) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int target = edgeTarget(middle);
+            if (target < to) {
+                low = middle + 1;
+            } else if (target > to) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private Edge<V> edgeAt(int from, int position) {
+        return new Edge<V>(vertices[from], vertices[edgeTarget(position)], edgeWeight(position));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return vertices.length == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int verticesCount() {
+        return vertices.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean vertexExists(V vertex) {
+        return vertexToInteger.containsKey(vertex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean edgeExists(V from, V to) {
+        return getEdgeWeight(from, to).isPresent();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OptionalInt getEdgeWeight(V from, V to) {
+        int fromId = vertexId(from);
+        int toId = vertexId(to);
+        if (fromId < 0 || toId < 0) {
+            return OptionalInt.empty();
+        }
+
+        int position = findEdge(fromId, toId);
+        return (position < 0) ? OptionalInt.empty() : OptionalInt.of(edgeWeight(position));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Edge<V>> getEdge(V from, V to) {
+        int fromId = vertexId(from);
+        int toId = vertexId(to);
+        if (fromId < 0 || toId < 0) {
+            return Optional.empty();
+        }
+
+        int position = findEdge(fromId, toId);
+        return (position < 0) ? Optional.empty() : Optional.of(edgeAt(fromId, position));
+    }
+
+    /**
+     * Operation is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addVertex(V vertex) {
+        throw new UnsupportedOperationException("unsupported");
+    }
+
+    /**
+     * Operation is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeVertex(V vertex) {
+        throw new UnsupportedOperationException("unsupported");
+    }
+
+    /**
+     * Operation is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addEdge(Edge<V> edge) {
+        throw new UnsupportedOperationException("unsupported");
+    }
+
+    /**
+     * Operation is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public OptionalInt removeEdge(V from, V to) {
+        throw new UnsupportedOperationException("unsupported");
+    }
+
+    /**
+     * Operation is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public OptionalInt reweightEdge(V from, V to, int newWeight) {
+        throw new UnsupportedOperationException("unsupported");
+    }
+
+    /**
+     * Operation is unsupported.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("unsupported");
+    }
+
+    /**
+     * Returns an unmodifiable view of edges adjacent to specified vertex,
+     * or {@code null} if the vertex doesn't exist.
+     * Membership is checked by a binary search.
+     *
+     * @param  vertex  a vertex which adjacent edges are returned
+     * @return a set of edges adjacent to the specified vertex
+     */
+    @Override
+    public Set<Edge<V>> getAdjacentEdges(V vertex) {
+        int id = vertexId(vertex);
+        return (id < 0) ? null : new EdgesView(id, id + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<V> getAllVertices() {
+        return Collections.unmodifiableSet(vertexToInteger.keySet());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation iterates edges of the vertex in order of targets.
+     */
+    @Override
+    public boolean forEachNeighbor(V vertex, ObjIntConsumer<? super V> action) {
+        int id = vertexId(vertex);
+        if (id < 0) {
+            return false;
+        }
+
+        int end = edgesEnd(id);
+        for (int position = edgesStart(id); position < end; position++) {
+            action.accept(vertices[edgeTarget(position)], edgeWeight(position));
+        }
+        return true;
+    }
+
+    /**
+     * Performs specified {@code action} for every edge coming from the vertex
+     * with specified id, passing an id of a vertex the edge comes to and
+     * its weight, in order of targets. Nothing is boxed or created.
+     *
+     * @param  id  an id of a vertex
+     * @param  action  an action to perform for every adjacent edge
+     * @throws IndexOutOfBoundsException  if there is no vertex with specified id
+     */
+    public void forEachNeighbor(int id, IntNeighborConsumer action) {
+        Objects.checkIndex(id, vertices.length);
+        int end = edgesEnd(id);
+        for (int position = edgesStart(id); position < end; position++) {
+            action.accept(edgeTarget(position), edgeWeight(position));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation iterates edges of this graph in order of ids.
+     */
+    @Override
+    public void forEachEdge(EdgeConsumer<? super V> action) {
+        for (int from = 0; from < vertices.length; from++) {
+            int end = edgesEnd(from);
+            for (int position = edgesStart(from); position < end; position++) {
+                action.accept(vertices[from], vertices[edgeTarget(position)], edgeWeight(position));
+            }
+        }
+    }
+
+    /**
+     * Returns an unmodifiable view of all edges of this graph.
+     *
+     * @return a set of all edges of this graph
+     */
+    @Override
+    public Set<Edge<V>> getAllEdges() {
+        return new EdgesView(0, vertices.length);
+    }
+
+    /**
+     * Finds lengths of shortest paths from a vertex with specified id
+     * to all vertices, indexed by their ids.
+     *
+     * <p>Implements Dijkstra shortest paths algorithm with an
+     * {@link IndexedMinHeap} directly over edges of this graph,
+     * so no edges or boxed distances are created. Unreachable vertices
+     * have a distance of {@link Long#MAX_VALUE}.
+     *
+     * @param  source  an id of a vertex to find shortest paths from
+     * @return an array of distances indexed by ids of vertices
+     * @throws IllegalArgumentException  if there is no vertex with such id
+     * @throws IllegalStateException  if one of edges reachable from {@code source}
+     *                                has negative weight
+     */
+    public long[] shortestDistances(int source) {
+        if (source < 0 || source >= vertices.length) {
+            throw new IllegalArgumentException("no vertex with such id");
+        }
+
+        long[] distances = new long[vertices.length];
+        Arrays.fill(distances, Long.MAX_VALUE);
+
+        var heap = new IndexedMinHeap(vertices.length);
+        distances[source] = 0;
+        heap.decreaseKey(source, 0);
+
+        while (!heap.isEmpty()) {
+            int from = heap.poll();
+            long distance = distances[from];
+            int end = edgesEnd(from);
+            for (int position = edgesStart(from); position < end; position++) {
+                int weight = edgeWeight(position);
+                if (weight < 0) {
+                    throw new IllegalStateException("negative weight edges are not supported");
+                }
+
+                int to = edgeTarget(position);
+                if (distance + weight < distances[to]) {
+                    distances[to] = distance + weight;
+                    heap.decreaseKey(to, distance + weight);
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    /**
+     * Finds lengths of shortest paths from a vertex with specified id
+     * to all vertices, indexed by their ids, using specified algorithm.
+     *
+     * @param  source  an id of a vertex to find shortest paths from
+     * @param  strategy  an algorithm to use
+     * @return an array of distances indexed by ids of vertices,
+     *         {@link Long#MAX_VALUE} for unreachable vertices
+     * @throws IllegalArgumentException  if there is no vertex with such id
+     * @throws IllegalStateException  if one of edges reachable from {@code source}
+     *                                has negative weight
+     *
+     * @see DeltaStepping
+     */
+    public long[] shortestDistances(int source, ShortestPathsStrategy strategy) {
+        return switch (strategy) {
+            case DIJKSTRA -> shortestDistances(source);
+            case DELTA_STEPPING -> DeltaStepping.shortestDistances(this, source);
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation runs {@link #shortestDistances} over
+     * edges of this graph.
+     */
+    @Override
+    public Map<V, Integer> findShortestPaths(V s) {
+        return findShortestPaths(s, ShortestPathsStrategy.DIJKSTRA);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation runs {@link #shortestDistances(int, ShortestPathsStrategy)}
+     * over edges of this graph.
+     */
+    @Override
+    public Map<V, Integer> findShortestPaths(V s, ShortestPathsStrategy strategy) {
+        int source = vertexId(s);
+        Map<V, Integer> paths = new HashMap<>((int) (vertices.length / 0.75f) + 1);
+        if (source < 0) {
+            for (var vertex : vertices) {
+                paths.put(vertex, Integer.MAX_VALUE);
+            }
+            return paths;
+        }
+
+        long[] distances = shortestDistances(source, strategy);
+        for (int id = 0; id < vertices.length; id++) {
+            paths.put(vertices[id], (int) Math.min(distances[id], Integer.MAX_VALUE));
+        }
+        return paths;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation runs over edges of this graph.
+     *
+     * @throws IllegalStateException  if one of explored edges has negative weight
+     */
+    @Override
+    public Optional<Path<V>> findShortestPath(V from, V to, ToLongFunction<? super V> heuristic) {
+        int source = vertexId(from);
+        int target = vertexId(to);
+        if (source < 0 || target < 0) {
+            return Optional.empty();
+        }
+
+        long[] distances = new long[vertices.length];
+        long[] estimates = new long[vertices.length];
+        int[] predecessors = new int[vertices.length];
+        Arrays.fill(distances, Long.MAX_VALUE);
+
+        var heap = new IndexedMinHeap(vertices.length);
+        distances[source] = 0;
+        predecessors[source] = -1;
+        heap.decreaseKey(source, heuristic.applyAsLong(from));
+
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            if (current == target) {
+                var path = new ArrayList<V>();
+                for (int id = target; id >= 0; id = predecessors[id]) {
+                    path.add(vertices[id]);
+                }
+                Collections.reverse(path);
+                return Optional.of(new Path<>(Collections.unmodifiableList(path), distances[target]));
+            }
+
+            int end = edgesEnd(current);
+            for (int position = edgesStart(current); position < end; position++) {
+                int weight = edgeWeight(position);
+                if (weight < 0) {
+                    throw new IllegalStateException("negative weight edges are not supported");
+                }
+
+                int next = edgeTarget(position);
+                long newDistance = distances[current] + weight;
+                if (newDistance < distances[next]) {
+                    if (distances[next] == Long.MAX_VALUE) {
+                        estimates[next] = heuristic.applyAsLong(vertices[next]);
+                    }
+                    distances[next] = newDistance;
+                    predecessors[next] = current;
+                    heap.decreaseKey(next, newDistance + estimates[next]);
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation computes a hash code over edges of this graph
+     * once, as it's immutable. Like {@link String#hashCode},
+     * a hash code equal to 0 is recomputed every time.
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            for (int from = 0; from < vertices.length; from++) {
+                h += vertexHash(vertices[from]);
+                int end = edgesEnd(from);
+                for (int position = edgesStart(from); position < end; position++) {
+                    h += edgeHash(vertices[from], vertices[edgeTarget(position)], edgeWeight(position));
+                }
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    // Edges coming from vertices with ids [fromStart, fromEnd)
+    private class EdgesView extends AbstractSet<Edge<V>> {
+        private final int fromStart;
+        private final int fromEnd;
+
+        EdgesView(int fromStart, int fromEnd) {
+            this.fromStart = fromStart;
+            this.fromEnd = fromEnd;
+        }
+
+        // an end of edges of the last vertex, which is valid for an empty range too
+        private int end() {
+            return (fromEnd > fromStart) ? edgesEnd(fromEnd - 1) : start();
+        }
+
+        private int start() {
+            return (fromStart < vertices.length) ? edgesStart(fromStart) : 0;
+        }
+
+        @Override
+        public int size() {
+            return end() - start();
+        }
+
+        @Override
+        public boolean contains(Object obj) {
+            if (!(obj instanceof Edge<?> edge)) {
+                return false;
+            }
+
+            Integer from = vertexToInteger.get(edge.from());
+            Integer to = vertexToInteger.get(edge.to());
+            if (from == null || to == null || from < fromStart || from >= fromEnd) {
+                return false;
+            }
+
+            int position = findEdge(from, to);
+            return position >= 0 && edgeWeight(position) == edge.weight();
+        }
+
+        @Override
+        public Iterator<Edge<V>> iterator() {
+            return new Iterator<>() {
+                private int from = fromStart;
+                private int position = start();
+                private final int end = end();
+
+                @Override
+                public boolean hasNext() {
+                    return position < end;
+                }
+
+                @Override
+                public Edge<V> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException("No more items");
+                    }
+                    while (position >= edgesEnd(from)) {
+                        from++;
+                    }
+                    return edgeAt(from, position++);
+                }
+            };
+        }
+    }
+}
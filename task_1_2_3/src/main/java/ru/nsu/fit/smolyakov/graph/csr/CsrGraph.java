@@ -0,0 +1,420 @@
+package ru.nsu.fit.smolyakov.graph.csr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import ru.nsu.fit.smolyakov.graph.AbstractGraph;
+import ru.nsu.fit.smolyakov.graph.Edge;
+import ru.nsu.fit.smolyakov.graph.Graph;
+
+/**
+ * Immutable compressed sparse row (CSR) graph representation, intended for
+ * large read-mostly graphs.
+ *
+ * <p>Vertices are interned to dense integer ids. Edges coming from a vertex
+ * with id {@code i} occupy positions {@code offsets[i]..offsets[i + 1]} of
+ * {@code targets} and {@code weights} arrays and are sorted by target,
+ * so an edge costs 8 bytes and is found by a binary search.
+ * No {@link Edge} records are stored, they are created on demand.
+ *
+ * <p>All mutating methods throw {@link UnsupportedOperationException}.
+ * A graph is instantiated by its constructors or by a {@link Builder},
+ * which can also be fed directly by
+ * {@link ru.nsu.fit.smolyakov.graph.parser.EdgesSetParser#toCsrGraph}.
+ *
+ * @see ru.nsu.fit.smolyakov.graph.Graph
+ * @see AbstractCsrGraph
+ * @see ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph
+ */
+public class CsrGraph<V> extends AbstractCsrGraph<V> {
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    private CsrGraph(Builder<V> builder) {
+        super(builder.vertices.toArray(builder.newArray(builder.vertices.size())), builder.vertexToInteger);
+        int verticesCount = builder.vertices.size();
+
+        // counting sort by source is stable, so edges of a row
+        // stay in the order they were added
+        int edgesCount = builder.edgesCount;
+        int[] rows = new int[verticesCount + 1];
+        for (int i = 0; i < edgesCount; i++) {
+            rows[builder.from[i] + 1]++;
+        }
+        for (int i = 1; i <= verticesCount; i++) {
+            rows[i] += rows[i - 1];
+        }
+
+        // a key holds a target and a position of an edge inside its row,
+        // so sorting keys sorts a row by targets and keeps the order of addition
+        long[] keys = new long[edgesCount];
+        int[] unsortedWeights = new int[edgesCount];
+        int[] position = Arrays.copyOf(rows, verticesCount);
+        for (int i = 0; i < edgesCount; i++) {
+            int row = builder.from[i];
+            int pos = position[row]++;
+            keys[pos] = ((long) builder.to[i] << 32) | (pos - rows[row]);
+            unsortedWeights[pos] = builder.weight[i];
+        }
+
+        int[] offsets = new int[verticesCount + 1];
+        int[] targets = new int[edgesCount];
+        int[] weights = new int[edgesCount];
+
+        // within a row edges are sorted by target, and if there are
+        // several edges to the same target, the first added one is kept
+        int size = 0;
+        for (int row = 0; row < verticesCount; row++) {
+            offsets[row] = size;
+            Arrays.sort(keys, rows[row], rows[row + 1]);
+
+            for (int k = rows[row]; k < rows[row + 1]; k++) {
+                int target = (int) (keys[k] >>> 32);
+                if (size > offsets[row] && targets[size - 1] == target) {
+                    continue;
+                }
+                targets[size] = target;
+                weights[size] = unsortedWeights[rows[row] + (int) keys[k]];
+                size++;
+            }
+        }
+        offsets[verticesCount] = size;
+
+        this.offsets = offsets;
+        this.targets = (size == edgesCount) ? targets : Arrays.copyOf(targets, size);
+        this.weights = (size == edgesCount) ? weights : Arrays.copyOf(weights, size);
+    }
+
+    /**
+     * An edges set constructor.
+     * As a set of vertices is not specified, it's supposed that there is no
+     * terminal vertices in this graph.
+     *
+     * @param edgesSet a set of edges
+     */
+    public CsrGraph(Set<Edge<V>> edgesSet) {
+        this(builderOf(edgesSet));
+    }
+
+    /**
+     * An edges set constructor with a specified
+     * set of vertices. It allows terminal vertices to exist.
+     *
+     * <p>If one of edges specified in edges set is related to nonexistant
+     * vertex, it won't be added.
+     *
+     * @param verticesSet a set of vertices
+     * @param edgesSet a set of edges
+     */
+    public CsrGraph(Set<V> verticesSet, Set<Edge<V>> edgesSet) {
+        this(builderOf(verticesSet, edgesSet));
+    }
+
+    /**
+     * An adjacency matrix constructor. Each vertex from specified
+     * {@code verticesList} is mapped into an index according to its
+     * position in the list, so the order in {@code verticesList} is considerable.
+     *
+     * @param verticesList an ordered list of vertices
+     * @param matrix an adjacency matrix
+     *
+     * @throws IllegalArgumentException if size of list is not equal to any of
+     *                                  matrix dimensions
+     */
+    public CsrGraph(List<V> verticesList, Integer[][] matrix) {
+        this(builderOf(verticesList, matrix));
+    }
+
+    /**
+     * A copy constructor, which takes a snapshot of any graph.
+     *
+     * @param graph a graph to copy
+     */
+    public CsrGraph(Graph<V> graph) {
+        this(builderOf(graph));
+    }
+
+    private static <V> Builder<V> builderOf(Set<Edge<V>> edgesSet) {
+        var builder = new Builder<V>();
+        for (var edge : edgesSet) {
+            builder.addEdge(edge.from(), edge.to(), edge.weight());
+        }
+        return builder;
+    }
+
+    private static <V> Builder<V> builderOf(Set<V> verticesSet, Set<Edge<V>> edgesSet) {
+        var builder = new Builder<V>(verticesSet.size(), edgesSet.size());
+        for (var vertex : verticesSet) {
+            builder.addVertex(vertex);
+        }
+        for (var edge : edgesSet) {
+            int from = builder.vertexId(edge.from());
+            int to = builder.vertexId(edge.to());
+            if (from >= 0 && to >= 0) {
+                builder.addEdge(from, to, edge.weight());
+            }
+        }
+        return builder;
+    }
+
+    private static <V> Builder<V> builderOf(List<V> verticesList, Integer[][] matrix) {
+        int size = matrix.length;
+        if (size != verticesList.size()) {
+            throw new IllegalArgumentException("size of list is not equal to one of matrix dim");
+        }
+        if (matrix[0].length != size) {
+            throw new IllegalArgumentException("input 2d array is not a matrix");
+        }
+
+        var builder = new Builder<V>();
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = builder.addVertex(verticesList.get(i));
+        }
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                if (matrix[row][column] != null) {
+                    builder.addEdge(ids[row], ids[column], matrix[row][column]);
+                }
+            }
+        }
+        return builder;
+    }
+
+    private static <V> Builder<V> builderOf(Graph<V> graph) {
+        var vertices = graph.getAllVertices();
+        var builder = new Builder<V>(vertices.size(), graph.edgesCount());
+        for (var vertex : vertices) {
+            builder.addVertex(vertex);
+        }
+
+        if (graph instanceof AbstractGraph<V> abstractGraph) {
+            abstractGraph.forEachEdge((from, to, weight) ->
+                builder.addEdge(builder.vertexId(from), builder.vertexId(to), weight));
+            return builder;
+        }
+
+        for (var vertex : vertices) {
+            int from = builder.vertexId(vertex);
+            for (var edge : graph.getAdjacentEdges(vertex)) {
+                builder.addEdge(from, builder.vertexId(edge.to()), edge.weight());
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgesStart(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgesEnd(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgeTarget(int position) {
+        return targets[position];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgeWeight(int position) {
+        return weights[position];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgesCount() {
+        return targets.length;
+    }
+
+    /**
+     * Collects vertices and edges of a {@link CsrGraph}. Vertices are interned
+     * to dense ids in the order of addition, edges are stored in primitive
+     * arrays until {@link #build} is called, so no {@link Edge} records are created.
+     *
+     * <p>If several edges with the same vertices are added,
+     * the first one is kept, as {@link Graph} specification requires.
+     */
+    public static class Builder<V> {
+        private final Map<V, Integer> vertexToInteger;
+        private final ArrayList<V> vertices;
+
+        private int[] from;
+        private int[] to;
+        private int[] weight;
+        private int edgesCount = 0;
+
+        /**
+         * Constructs an empty builder.
+         */
+        public Builder() {
+            this(16, 16);
+        }
+
+        /**
+         * Constructs an empty builder, pre-sized for an expected
+         * amount of vertices and edges.
+         *
+         * @param expectedVertices an expected amount of vertices
+         * @param expectedEdges an expected amount of edges
+         */
+        public Builder(int expectedVertices, int expectedEdges) {
+            vertexToInteger = new HashMap<>(Math.max(16, (int) (expectedVertices / 0.75f) + 1));
+            vertices = new ArrayList<>(expectedVertices);
+
+            int capacity = Math.max(expectedEdges, 16);
+            from = new int[capacity];
+            to = new int[capacity];
+            weight = new int[capacity];
+        }
+
+        /**
+         * Adds a vertex, if it doesn't exist yet, and returns its id.
+         *
+         * @param  vertex  a vertex to add
+         * @return an id of the vertex
+         */
+        public int addVertex(V vertex) {
+            Integer id = vertexToInteger.putIfAbsent(vertex, vertices.size());
+            if (id == null) {
+                vertices.add(vertex);
+                return vertices.size() - 1;
+            }
+            return id;
+        }
+
+        /**
+         * Returns an id of a vertex, or -1 if it isn't added.
+         *
+         * @param  vertex  a vertex
+         * @return an id of the vertex or -1
+         */
+        public int vertexId(V vertex) {
+            Integer id = vertexToInteger.get(vertex);
+            return (id == null) ? -1 : id;
+        }
+
+        /**
+         * Adds an edge, adding its vertices if they don't exist yet.
+         *
+         * @param  from  a vertex an edge comes from
+         * @param  to  a vertex an edge comes to
+         * @param  weight  a weight of an edge
+         * @return this builder
+         */
+        public Builder<V> addEdge(V from, V to, int weight) {
+            int fromId = addVertex(from);
+            return addEdge(fromId, addVertex(to), weight);
+        }
+
+        /**
+         * Adds an edge between vertices with specified ids.
+         *
+         * @param  fromId  an id of a vertex an edge comes from
+         * @param  toId  an id of a vertex an edge comes to
+         * @param  weight  a weight of an edge
+         * @return this builder
+         * @throws IllegalArgumentException  if there is no vertex with one of ids
+         */
+        public Builder<V> addEdge(int fromId, int toId, int weight) {
+            if (fromId < 0 || fromId >= vertices.size()
+                || toId < 0 || toId >= vertices.size()) {
+                throw new IllegalArgumentException("incorrect vertex id");
+            }
+
+            if (edgesCount == from.length) {
+                int capacity = edgesCount + (edgesCount >> 1);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                this.weight = Arrays.copyOf(this.weight, capacity);
+            }
+
+            from[edgesCount] = fromId;
+            to[edgesCount] = toId;
+            this.weight[edgesCount] = weight;
+            edgesCount++;
+            return this;
+        }
+
+        /**
+         * Adds first {@code count} edges from specified arrays of ids and weights
+         * at once, in the order they are stored. Arrays are copied.
+         *
+         * @param  fromIds  ids of vertices edges come from
+         * @param  toIds  ids of vertices edges come to
+         * @param  weights  weights of edges
+         * @param  count  amount of edges to add
+         * @return this builder
+         * @throws IllegalArgumentException  if there is no vertex with one of ids
+         * @throws IndexOutOfBoundsException  if some array is shorter than {@code count}
+         */
+        public Builder<V> addEdges(int[] fromIds, int[] toIds, int[] weights, int count) {
+            Objects.checkFromIndexSize(0, count, fromIds.length);
+            Objects.checkFromIndexSize(0, count, toIds.length);
+            Objects.checkFromIndexSize(0, count, weights.length);
+            for (int i = 0; i < count; i++) {
+                if (fromIds[i] < 0 || fromIds[i] >= vertices.size()
+                    || toIds[i] < 0 || toIds[i] >= vertices.size()) {
+                    throw new IllegalArgumentException("incorrect vertex id");
+                }
+            }
+
+            if (edgesCount + count > from.length) {
+                int capacity = Math.max(edgesCount + count, edgesCount + (edgesCount >> 1));
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+            }
+
+            System.arraycopy(fromIds, 0, from, edgesCount, count);
+            System.arraycopy(toIds, 0, to, edgesCount, count);
+            System.arraycopy(weights, 0, weight, edgesCount, count);
+            edgesCount += count;
+            return this;
+        }
+
+        /**
+         * Builds a graph. The builder may be reused after that,
+         * but changes made to it don't affect built graphs.
+         *
+         * @return a new graph
+         */
+        public CsrGraph<V> build() {
+            var copy = new Builder<V>(0, 0);
+            copy.vertexToInteger.putAll(vertexToInteger);
+            copy.vertices.addAll(vertices);
+            copy.from = from;
+            copy.to = to;
+            copy.weight = weight;
+            copy.edgesCount = edgesCount;
+            return new CsrGraph<>(copy);
+        }
+
+        @SuppressWarnings("unchecked")
+        private V[] newArray(int length) {
+            return (V[]) new Object[length];
+        }
+    }
+}
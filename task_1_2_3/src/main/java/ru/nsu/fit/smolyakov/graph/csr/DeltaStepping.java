@@ -0,0 +1,265 @@
+package ru.nsu.fit.smolyakov.graph.csr;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Parallel delta-stepping single-source shortest paths algorithm
+ * over an {@link AbstractCsrGraph}.
+ *
+ * <p>Vertices are kept in buckets of width {@code delta} by their tentative
+ * distances. Buckets are processed in increasing order: edges not heavier than
+ * {@code delta} coming from vertices of the current bucket are relaxed
+ * until the bucket stays empty, then heavier edges of all the vertices removed
+ * from the bucket are relaxed once. Each relaxation phase is split between
+ * workers of a {@link ForkJoinPool}, and distances are updated by
+ * compare-and-set, so the only sequential part is distributing updated
+ * vertices between buckets.
+ *
+ * <p>A small {@code delta} makes the algorithm close to Dijkstra algorithm,
+ * and a large one makes it close to Bellman-Ford algorithm.
+ *
+ * @see AbstractCsrGraph#shortestDistances(int, ru.nsu.fit.smolyakov.graph.ShortestPathsStrategy)
+ */
+public final class DeltaStepping {
+    // vertices of a phase relaxed by a single task
+    private static final int THRESHOLD = 256;
+
+    private DeltaStepping() {}
+
+    /**
+     * Finds lengths of shortest paths from a vertex with specified id
+     * to all vertices of a {@code graph}, indexed by their ids, using
+     * the common {@link ForkJoinPool} and a {@code delta} chosen
+     * by {@link #defaultDelta}.
+     *
+     * @param  graph  a graph
+     * @param  source  an id of a vertex to find shortest paths from
+     * @return an array of distances indexed by ids of vertices,
+     *         {@link Long#MAX_VALUE} for unreachable vertices
+     * @throws IllegalArgumentException  if there is no vertex with such id
+     * @throws IllegalStateException  if one of edges reachable from {@code source}
+     *                                has negative weight
+     */
+    public static long[] shortestDistances(AbstractCsrGraph<?> graph, int source) {
+        return shortestDistances(graph, source, defaultDelta(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Finds lengths of shortest paths from a vertex with specified id
+     * to all vertices of a {@code graph}, indexed by their ids.
+     *
+     * @param  graph  a graph
+     * @param  source  an id of a vertex to find shortest paths from
+     * @param  delta  a width of a bucket, positive
+     * @param  pool  a pool to run relaxation phases in
+     * @return an array of distances indexed by ids of vertices,
+     *         {@link Long#MAX_VALUE} for unreachable vertices
+     * @throws IllegalArgumentException  if there is no vertex with such id
+     *                                   or {@code delta} is not positive
+     * @throws IllegalStateException  if one of edges reachable from {@code source}
+     *                                has negative weight
+     */
+    public static long[] shortestDistances(AbstractCsrGraph<?> graph, int source, int delta, ForkJoinPool pool) {
+        int count = graph.verticesCount();
+        if (source < 0 || source >= count) {
+            throw new IllegalArgumentException("no vertex with such id");
+        } else if (delta <= 0) {
+            throw new IllegalArgumentException("delta must be positive");
+        }
+
+        var distances = new AtomicLongArray(count);
+        for (int id = 0; id < count; id++) {
+            distances.set(id, Long.MAX_VALUE);
+        }
+        distances.set(source, 0);
+
+        // marks of the last phase a vertex was queued in, and of the last
+        // bucket a vertex was removed from, so that no vertex is repeated
+        int[] queuedPhase = new int[count];
+        long[] settledBucket = new long[count];
+        Arrays.fill(queuedPhase, -1);
+        Arrays.fill(settledBucket, -1);
+        int phase = 0;
+
+        TreeMap<Long, IntList> buckets = new TreeMap<>();
+        buckets.put(0L, IntList.of(source));
+
+        while (!buckets.isEmpty()) {
+            var first = buckets.pollFirstEntry();
+            long bucket = first.getKey();
+
+            var frontier = new IntList();
+            phase++;
+            for (int i = 0; i < first.getValue().size; i++) {
+                int vertex = first.getValue().items[i];
+                if (distances.get(vertex) / delta == bucket && queuedPhase[vertex] != phase) {
+                    queuedPhase[vertex] = phase;
+                    frontier.add(vertex);
+                }
+            }
+
+            var settled = new IntList();
+            while (frontier.size > 0) {
+                for (int i = 0; i < frontier.size; i++) {
+                    int vertex = frontier.items[i];
+                    if (settledBucket[vertex] != bucket) {
+                        settledBucket[vertex] = bucket;
+                        settled.add(vertex);
+                    }
+                }
+
+                var updated = relax(graph, distances, frontier, delta, true, pool);
+
+                var next = new IntList();
+                phase++;
+                for (int i = 0; i < updated.size; i++) {
+                    int vertex = updated.items[i];
+                    long target = distances.get(vertex) / delta;
+                    if (target == bucket) {
+                        if (queuedPhase[vertex] != phase) {
+                            queuedPhase[vertex] = phase;
+                            next.add(vertex);
+                        }
+                    } else {
+                        buckets.computeIfAbsent(target, key -> new IntList()).add(vertex);
+                    }
+                }
+                frontier = next;
+            }
+
+            // heavy edges lead to later buckets only
+            var updated = relax(graph, distances, settled, delta, false, pool);
+            for (int i = 0; i < updated.size; i++) {
+                int vertex = updated.items[i];
+                buckets.computeIfAbsent(distances.get(vertex) / delta, key -> new IntList()).add(vertex);
+            }
+        }
+
+        long[] result = new long[count];
+        for (int id = 0; id < count; id++) {
+            result[id] = distances.get(id);
+        }
+        return result;
+    }
+
+    private static IntList relax(AbstractCsrGraph<?> graph, AtomicLongArray distances, IntList frontier,
+                                 int delta, boolean light, ForkJoinPool pool) {
+        var relaxation = new Relaxation(graph, distances, frontier, 0, frontier.size, delta, light);
+        // small phases are not worth handing over to the pool
+        return (frontier.size <= THRESHOLD) ? relaxation.compute() : pool.invoke(relaxation);
+    }
+
+    /**
+     * Returns a width of a bucket, which is a maximal weight of an edge
+     * divided by an average out-degree of a vertex, so that the light edges
+     * of a vertex are expected to have about one target in the same bucket.
+     *
+     * @param  graph  a graph
+     * @return a positive width of a bucket
+     */
+    public static int defaultDelta(AbstractCsrGraph<?> graph) {
+        int maxWeight = 1;
+        for (int position = 0; position < graph.edgesCount(); position++) {
+            maxWeight = Math.max(maxWeight, graph.edgeWeight(position));
+        }
+
+        long degree = Math.max(1, graph.edgesCount() / Math.max(1, graph.verticesCount()));
+        return (int) Math.max(1, maxWeight / degree);
+    }
+
+    // Relaxes either light or heavy edges of frontier[start, end),
+    // returning targets which distances were decreased.
+    // Tasks are never serialized, though ForkJoinTask is Serializable
+    @SuppressWarnings("serial")
+    private static class Relaxation extends RecursiveTask<IntList> {
+        private final AbstractCsrGraph<?> graph;
+        private final AtomicLongArray distances;
+        private final IntList frontier;
+        private final int start;
+        private final int end;
+        private final int delta;
+        private final boolean light;
+
+        Relaxation(AbstractCsrGraph<?> graph, AtomicLongArray distances, IntList frontier,
+                   int start, int end, int delta, boolean light) {
+            this.graph = graph;
+            this.distances = distances;
+            this.frontier = frontier;
+            this.start = start;
+            this.end = end;
+            this.delta = delta;
+            this.light = light;
+        }
+
+        @Override
+        protected IntList compute() {
+            if (end - start > THRESHOLD) {
+                int middle = (start + end) >>> 1;
+                var left = new Relaxation(graph, distances, frontier, start, middle, delta, light);
+                left.fork();
+                var right = new Relaxation(graph, distances, frontier, middle, end, delta, light)
+                    .compute();
+                return left.join().addAll(right);
+            }
+
+            var updated = new IntList();
+            for (int i = start; i < end; i++) {
+                int from = frontier.items[i];
+                long distance = distances.get(from);
+
+                for (int position = graph.edgesStart(from); position < graph.edgesEnd(from); position++) {
+                    int weight = graph.edgeWeight(position);
+                    if (weight < 0) {
+                        throw new IllegalStateException("negative weight edges are not supported");
+                    } else if ((weight <= delta) != light) {
+                        continue;
+                    }
+
+                    int to = graph.edgeTarget(position);
+                    long newDistance = distance + weight;
+                    long oldDistance = distances.get(to);
+                    while (newDistance < oldDistance) {
+                        if (distances.compareAndSet(to, oldDistance, newDistance)) {
+                            updated.add(to);
+                            break;
+                        }
+                        oldDistance = distances.get(to);
+                    }
+                }
+            }
+            return updated;
+        }
+    }
+
+    // A growable list of ints
+    private static class IntList {
+        private int[] items = new int[8];
+        private int size = 0;
+
+        static IntList of(int item) {
+            var list = new IntList();
+            list.add(item);
+            return list;
+        }
+
+        void add(int item) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = item;
+        }
+
+        IntList addAll(IntList other) {
+            if (size + other.size > items.length) {
+                items = Arrays.copyOf(items, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.items, 0, items, size, other.size);
+            size += other.size;
+            return this;
+        }
+    }
+}
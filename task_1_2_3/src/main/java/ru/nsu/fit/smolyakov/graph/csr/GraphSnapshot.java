@@ -0,0 +1,278 @@
+package ru.nsu.fit.smolyakov.graph.csr;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+
+import ru.nsu.fit.smolyakov.graph.Graph;
+
+/**
+ * Saves a {@link Graph} to a compact binary snapshot in CSR layout
+ * and opens it as a {@link MappedCsrGraph}.
+ *
+ * <p>A snapshot consists of a header, arrays of a {@link CsrGraph}
+ * and a dictionary of vertices in the order of their ids, written by
+ * a {@link VertexCodec} (a {@code null} vertex is stored by its id only):
+ *
+ * <p>{@code int magic, int version, int verticesCount, int edgesCount, int nullId}
+ * <p>{@code int[verticesCount + 1] offsets}
+ * <p>{@code int[edgesCount] targets}
+ * <p>{@code int[edgesCount] weights}
+ * <p>{@code vertices}
+ *
+ * <p>Opening a snapshot by {@link #load} memory-maps arrays of edges and
+ * serves them directly from the mapping, so only vertices are decoded.
+ * Only offsets are verified, edges are trusted, as verifying them would
+ * read the whole file.
+ *
+ * @see MappedCsrGraph
+ * @see VertexCodec
+ */
+public final class GraphSnapshot {
+    private static final int MAGIC = 0x47525048;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+
+    private GraphSnapshot() {}
+
+    /**
+     * Writes a snapshot of a specified {@code graph} to {@code out}.
+     * The stream is not closed.
+     *
+     * <p>A {@link CsrGraph} or a {@link MappedCsrGraph} is written directly,
+     * other graphs are converted into a {@link CsrGraph} at first.
+     *
+     * @param  graph  a graph to write
+     * @param  codec  a codec for vertices of the graph
+     * @param  out  a stream to write to
+     * @throws IOException  if an I/O error occurs
+     */
+    public static <V> void write(Graph<V> graph, VertexCodec<? super V> codec, OutputStream out)
+        throws IOException {
+        AbstractCsrGraph<V> csr = (graph instanceof AbstractCsrGraph<V> csrGraph)
+            ? csrGraph
+            : new CsrGraph<V>(graph);
+        var data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+
+        int verticesCount = csr.verticesCount();
+        int nullId = csr.vertexId(null);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(verticesCount);
+        data.writeInt(csr.edgesCount());
+        data.writeInt(nullId);
+
+        for (int id = 0; id < verticesCount; id++) {
+            data.writeInt(csr.edgesStart(id));
+        }
+        data.writeInt(csr.edgesCount());
+        for (int position = 0; position < csr.edgesCount(); position++) {
+            data.writeInt(csr.edgeTarget(position));
+        }
+        for (int position = 0; position < csr.edgesCount(); position++) {
+            data.writeInt(csr.edgeWeight(position));
+        }
+
+        for (int id = 0; id < verticesCount; id++) {
+            if (id != nullId) {
+                codec.write(data, csr.getVertex(id));
+            }
+        }
+
+        data.flush();
+    }
+
+    /**
+     * Writes a snapshot of a specified {@code graph} to a file,
+     * replacing it if it exists.
+     *
+     * @param  graph  a graph to write
+     * @param  codec  a codec for vertices of the graph
+     * @param  path  a file to write to
+     * @throws IOException  if an I/O error occurs
+     */
+    public static <V> void write(Graph<V> graph, VertexCodec<? super V> codec, Path path)
+        throws IOException {
+        try (var out = Files.newOutputStream(path)) {
+            write(graph, codec, out);
+        }
+    }
+
+    /**
+     * Memory-maps a specified file and opens a graph from it.
+     * The graph stays valid after the file is closed.
+     *
+     * <p>Every array and the dictionary are mapped separately,
+     * so each of them can't be larger than 2 GB. Offsets, targets and
+     * the dictionary are validated while opening, so only weights
+     * are not read until they are queried.
+     *
+     * @param  path  a file containing a snapshot
+     * @param  codec  a codec for vertices of the graph
+     * @return an opened graph
+     * @throws IOException  if an I/O error occurs
+     * @throws DataFormatException  if the file is not a correct snapshot
+     */
+    public static <V> MappedCsrGraph<V> load(Path path, VertexCodec<? extends V> codec)
+        throws IOException, DataFormatException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // reading the whole header
+            }
+            if (header.hasRemaining()) {
+                throw new DataFormatException("snapshot is truncated or corrupted");
+            }
+            header.flip();
+            var layout = Layout.of(header, channel.size());
+
+            return open(
+                layout,
+                map(channel, layout.offsetsPosition(), layout.targetsPosition()),
+                map(channel, layout.targetsPosition(), layout.weightsPosition()),
+                map(channel, layout.weightsPosition(), layout.verticesPosition()),
+                map(channel, layout.verticesPosition(), channel.size()),
+                codec);
+        }
+    }
+
+    /**
+     * Opens a graph from the beginning of a specified {@code buffer},
+     * which is not copied, so it must not be changed after that.
+     *
+     * @param  buffer  a buffer containing a snapshot
+     * @param  codec  a codec for vertices of the graph
+     * @return an opened graph
+     * @throws DataFormatException  if the buffer doesn't contain a correct snapshot
+     */
+    public static <V> MappedCsrGraph<V> read(ByteBuffer buffer, VertexCodec<? extends V> codec)
+        throws DataFormatException {
+        var layout = Layout.of(slice(buffer, 0, Math.min(HEADER_BYTES, buffer.limit())), buffer.limit());
+
+        return open(
+            layout,
+            slice(buffer, layout.offsetsPosition(), layout.targetsPosition()),
+            slice(buffer, layout.targetsPosition(), layout.weightsPosition()),
+            slice(buffer, layout.weightsPosition(), layout.verticesPosition()),
+            slice(buffer, layout.verticesPosition(), buffer.limit()),
+            codec);
+    }
+
+    // positions of parts of a snapshot
+    private record Layout(int verticesCount, int edgesCount, int nullId) {
+        static Layout of(ByteBuffer header, long size) throws DataFormatException {
+            try {
+                if (header.getInt() != MAGIC) {
+                    throw new DataFormatException("not a graph snapshot");
+                } else if (header.getInt() != VERSION) {
+                    throw new DataFormatException("unsupported snapshot version");
+                }
+
+                var layout = new Layout(header.getInt(), header.getInt(), header.getInt());
+                if (layout.verticesCount < 0 || layout.verticesCount == Integer.MAX_VALUE
+                    || layout.edgesCount < 0 || layout.edgesCount > Integer.MAX_VALUE / Integer.BYTES
+                    || layout.nullId < -1 || layout.nullId >= layout.verticesCount) {
+                    throw new DataFormatException("incorrect header");
+                } else if (layout.verticesPosition() > size) {
+                    throw new DataFormatException("snapshot is truncated or corrupted");
+                }
+                return layout;
+            } catch (BufferUnderflowException e) {
+                throw new DataFormatException("snapshot is truncated or corrupted");
+            }
+        }
+
+        long offsetsPosition() {
+            return HEADER_BYTES;
+        }
+
+        long targetsPosition() {
+            return offsetsPosition() + (verticesCount + 1L) * Integer.BYTES;
+        }
+
+        long weightsPosition() {
+            return targetsPosition() + (long) edgesCount * Integer.BYTES;
+        }
+
+        long verticesPosition() {
+            return weightsPosition() + (long) edgesCount * Integer.BYTES;
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long start, long end)
+        throws IOException, DataFormatException {
+        if (end - start > Integer.MAX_VALUE) {
+            throw new DataFormatException("snapshot is too large to be mapped");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, long start, long end) {
+        return buffer.slice((int) start, (int) (end - start));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> MappedCsrGraph<V> open(Layout layout,
+                                              ByteBuffer offsetsBytes,
+                                              ByteBuffer targetsBytes,
+                                              ByteBuffer weightsBytes,
+                                              ByteBuffer verticesBytes,
+                                              VertexCodec<? extends V> codec)
+        throws DataFormatException {
+        IntBuffer offsets = offsetsBytes.asIntBuffer();
+        int previous = 0;
+        for (int id = 0; id <= layout.verticesCount(); id++) {
+            int offset = offsets.get(id);
+            if (offset < previous || (id == 0 && offset != 0)) {
+                throw new DataFormatException("incorrect offsets");
+            }
+            previous = offset;
+        }
+        if (previous != layout.edgesCount()) {
+            throw new DataFormatException("incorrect offsets");
+        }
+
+        // targets are checked once, so queries never fail on a corrupted file
+        IntBuffer targets = targetsBytes.asIntBuffer();
+        for (int position = 0; position < layout.edgesCount(); position++) {
+            int target = targets.get(position);
+            if (target < 0 || target >= layout.verticesCount()) {
+                throw new DataFormatException("incorrect targets");
+            }
+        }
+
+        V[] vertices = (V[]) new Object[layout.verticesCount()];
+        Map<V, Integer> vertexToInteger = new HashMap<>((int) (vertices.length / 0.75f) + 1);
+        try {
+            for (int id = 0; id < vertices.length; id++) {
+                vertices[id] = (id == layout.nullId()) ? null : codec.read(verticesBytes);
+                if (id != layout.nullId() && vertices[id] == null
+                    || vertexToInteger.put(vertices[id], id) != null) {
+                    throw new DataFormatException("incorrect vertex");
+                }
+            }
+        } catch (BufferUnderflowException
+                 | IllegalArgumentException
+                 | NegativeArraySizeException e) {
+            throw new DataFormatException("snapshot is truncated or corrupted");
+        }
+
+        return new MappedCsrGraph<>(
+            vertices,
+            vertexToInteger,
+            offsets,
+            targets,
+            weightsBytes.asIntBuffer());
+    }
+}
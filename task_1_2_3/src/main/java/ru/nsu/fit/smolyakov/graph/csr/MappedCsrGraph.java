@@ -0,0 +1,78 @@
+package ru.nsu.fit.smolyakov.graph.csr;
+
+import java.nio.IntBuffer;
+import java.util.Map;
+
+/**
+ * Immutable compressed sparse row (CSR) graph representation, which edges
+ * are read directly from buffers, usually memory-mapped by {@link GraphSnapshot#load}.
+ *
+ * <p>The layout is the same as {@link CsrGraph} has: edges coming from a vertex
+ * with id {@code i} occupy positions {@code offsets[i]..offsets[i + 1]} of
+ * {@code targets} and {@code weights} buffers and are sorted by target.
+ * Only vertices are kept on the heap, and edges are paged in by an operating
+ * system when accessed. Opening a graph reads its offsets and targets once
+ * to validate them, weights are not read at all.
+ *
+ * <p>All mutating methods throw {@link UnsupportedOperationException}.
+ *
+ * @see GraphSnapshot
+ * @see AbstractCsrGraph
+ * @see CsrGraph
+ */
+public class MappedCsrGraph<V> extends AbstractCsrGraph<V> {
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+
+    MappedCsrGraph(V[] vertices,
+                   Map<V, Integer> vertexToInteger,
+                   IntBuffer offsets,
+                   IntBuffer targets,
+                   IntBuffer weights) {
+        super(vertices, vertexToInteger);
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgesStart(int id) {
+        return offsets.get(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgesEnd(int id) {
+        return offsets.get(id + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgeTarget(int position) {
+        return targets.get(position);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgeWeight(int position) {
+        return weights.get(position);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgesCount() {
+        return targets.limit();
+    }
+}
@@ -0,0 +1,109 @@
+package ru.nsu.fit.smolyakov.graph.csr;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts vertices of a graph to bytes and back.
+ * Used by {@link GraphSnapshot} to store a dictionary of vertices.
+ *
+ * <p>Vertices are written to a {@link DataOutput}, so they are
+ * big-endian, and read from a {@link ByteBuffer}, which may be
+ * memory-mapped. A codec must read exactly as many bytes as
+ * it has written. A {@code null} vertex is stored by a snapshot itself,
+ * so a codec never meets it.
+ *
+ * @see GraphSnapshot
+ */
+public interface VertexCodec<V> {
+    /**
+     * Writes a specified {@code vertex} to {@code out}.
+     *
+     * @param  out  an output to write to
+     * @param  vertex  a non-null vertex to write
+     * @throws IOException  if an I/O error occurs
+     */
+    void write(DataOutput out, V vertex) throws IOException;
+
+    /**
+     * Reads a vertex from the current position of {@code buffer}
+     * and advances the position.
+     *
+     * @param  buffer  a big-endian buffer to read from
+     * @return a vertex read
+     * @throws java.nio.BufferUnderflowException  if there are not enough bytes
+     *                                            remaining in the buffer
+     */
+    V read(ByteBuffer buffer);
+
+    /**
+     * Returns a codec for strings, which are stored as
+     * a length in bytes followed by UTF-8 bytes.
+     *
+     * @return a codec for strings
+     */
+    static VertexCodec<String> strings() {
+        return new VertexCodec<>() {
+            @Override
+            public void write(DataOutput out, String vertex) throws IOException {
+                byte[] bytes = vertex.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            @Override
+            public String read(ByteBuffer buffer) {
+                // a corrupted length must not make a huge array allocated
+                int length = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    throw new BufferUnderflowException();
+                }
+
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /**
+     * Returns a codec for integers, which are stored as 4 bytes.
+     *
+     * @return a codec for integers
+     */
+    static VertexCodec<Integer> integers() {
+        return new VertexCodec<>() {
+            @Override
+            public void write(DataOutput out, Integer vertex) throws IOException {
+                out.writeInt(vertex);
+            }
+
+            @Override
+            public Integer read(ByteBuffer buffer) {
+                return buffer.getInt();
+            }
+        };
+    }
+
+    /**
+     * Returns a codec for longs, which are stored as 8 bytes.
+     *
+     * @return a codec for longs
+     */
+    static VertexCodec<Long> longs() {
+        return new VertexCodec<>() {
+            @Override
+            public void write(DataOutput out, Long vertex) throws IOException {
+                out.writeLong(vertex);
+            }
+
+            @Override
+            public Long read(ByteBuffer buffer) {
+                return buffer.getLong();
+            }
+        };
+    }
+}
@@ -1,16 +1,20 @@
 package ru.nsu.fit.smolyakov.graph.incident_list;
 
+import java.util.AbstractSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.function.ObjIntConsumer;
 
 import ru.nsu.fit.smolyakov.graph.AbstractGraph;
 import ru.nsu.fit.smolyakov.graph.Edge;
+import ru.nsu.fit.smolyakov.graph.EdgeConsumer;
 
 /**
  * Mutable incident list graph representation which in general 
@@ -20,6 +24,14 @@ import ru.nsu.fit.smolyakov.graph.Edge;
  * <p>It's highly recommended to use this representation, unless the
  * graph is dense.
  * 
+ * <p>Edges coming from a vertex are stored in a map from a target vertex
+ * to a weight, so edges are looked up, removed and reweighted in a constant
+ * expected time, regardless of a degree of the vertex. Vertices are compared
+ * by {@link Object#equals}.
+ * 
+ * <p>Sources of incoming edges are indexed too, so {@link #getIncomingEdges}
+ * and {@link #removeVertex} take time proportional to degree of a vertex.
+ * 
  * <p>Can be instanciated from a file input using 
  * {@link ru.nsu.fit.smolyakov.graph.parser.EdgesSetParser}.
  * 
@@ -29,7 +41,14 @@ import ru.nsu.fit.smolyakov.graph.Edge;
  * @see ru.nsu.fit.smolyakov.graph.parser.EdgesSetParser
  */
 public class IncidentListGraph<V> extends AbstractGraph<V> {
-    private Map<V, Set<Edge<V>>> vertices = new HashMap<>();
+    private Map<V, Map<V, Integer>> vertices = new HashMap<>();
+
+    // sources of edges coming to a vertex, weights are kept in vertices map only
+    private Map<V, Set<V>> incoming = new HashMap<>();
+
+    // maintained on every change, see edgesCount and hashCode
+    private int edgesCount = 0;
+    private int hash = 0;
 
     /**
      * A no-args constructor for an empty graph.
@@ -79,6 +98,34 @@ public class IncidentListGraph<V> extends AbstractGraph<V> {
         graphInstance(verticesList, matrix);
     }
 
+    /**
+     * A template for a copy constructor, which fills maps of this graph
+     * directly, pre-sized for vertices of a specified {@code graph}.
+     * Edges are enumerated by {@link AbstractGraph#forEachEdge}, and a hash
+     * code is taken from the {@code graph}, as they are equal.
+     *
+     * <p>Be sure that this method is called when this graph is clear.
+     *
+     * @param  graph  a graph to copy
+     */
+    @Override
+    protected void graphInstance(AbstractGraph<V> graph) {
+        int capacity = (int) (graph.verticesCount() / 0.75f) + 1;
+        vertices = new HashMap<>(capacity);
+        incoming = new HashMap<>(capacity);
+        for (var vertex : graph.getAllVertices()) {
+            vertices.put(vertex, new HashMap<>());
+            incoming.put(vertex, new HashSet<>());
+        }
+
+        graph.forEachEdge((from, to, weight) -> {
+            vertices.get(from).put(to, weight);
+            incoming.get(to).add(from);
+        });
+        edgesCount = graph.edgesCount();
+        hash = graph.hashCode();
+    }
+
     /**
      * Returns this, as this object is already an instance of 
      * {@link IncidentListGraph}.
@@ -99,15 +146,39 @@ public class IncidentListGraph<V> extends AbstractGraph<V> {
         return vertices.containsKey(vertex);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean edgeExists(V from, V to) {
+        var targets = vertices.get(from);
+        return targets != null && targets.containsKey(to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OptionalInt getEdgeWeight(V from, V to) {
+        return toOptionalInt(getWeight(from, to));
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Optional<Edge<V>> getEdge(V from, V to) {
-        return Stream.ofNullable(vertices.get(from))
-            .flatMap((set) -> set.stream())
-            .filter((edge) -> edge.to() == to)
-            .findAny();
+        return Optional.ofNullable(getWeight(from, to))
+            .map((weight) -> new Edge<V>(from, to, weight));
+    }
+
+    private Integer getWeight(V from, V to) {
+        var targets = vertices.get(from);
+        return (targets == null) ? null : targets.get(to);
+    }
+
+    private static OptionalInt toOptionalInt(Integer weight) {
+        return (weight == null) ? OptionalInt.empty() : OptionalInt.of(weight);
     }
 
     /**
@@ -122,7 +193,9 @@ public class IncidentListGraph<V> extends AbstractGraph<V> {
         if (vertexExists(vertex)) {
             return false;
         } else {
-            vertices.put(vertex, new HashSet<>());
+            vertices.put(vertex, new HashMap<>());
+            incoming.put(vertex, new HashSet<>());
+            hash += vertexHash(vertex);
             return true;
         }
     }
@@ -136,10 +209,23 @@ public class IncidentListGraph<V> extends AbstractGraph<V> {
      */
     @Override
     public boolean removeVertex(V vertex) {
-        if (vertices.remove(vertex) != null) {
-            getAllEdges().stream()
-                         .filter((e) -> e.to().equals(vertex))
-                         .forEach((e) -> removeEdge(e.from(), e.to()));
+        var targets = vertices.remove(vertex);
+        if (targets != null) {
+            var sources = incoming.remove(vertex);
+            for (var source : sources) {
+                var sourceTargets = vertices.get(source);
+                if (sourceTargets != null) {
+                    edgeRemoved(source, vertex, sourceTargets.remove(vertex));
+                }
+            }
+            for (var entry : targets.entrySet()) {
+                var targetSources = incoming.get(entry.getKey());
+                if (targetSources != null) {
+                    targetSources.remove(vertex);
+                }
+                edgeRemoved(vertex, entry.getKey(), entry.getValue());
+            }
+            hash -= vertexHash(vertex);
             return true;
         } else {
             return false;
@@ -163,9 +249,14 @@ public class IncidentListGraph<V> extends AbstractGraph<V> {
      */
     @Override
     public boolean addEdge(Edge<V> edge) {
-        if (vertexExists(edge.to())
-            && vertexExists(edge.from())) {
-            vertices.get(edge.from()).add(edge);
+        var targets = vertices.get(edge.from());
+        if (targets != null && vertexExists(edge.to())) {
+            if (targets.putIfAbsent(edge.to(), edge.weight()) != null) {
+                return false;
+            }
+            incoming.get(edge.to()).add(edge.from());
+            edgesCount++;
+            hash += edgeHash(edge.from(), edge.to(), edge.weight());
             return true;
         } else {
             return false;
@@ -188,26 +279,78 @@ public class IncidentListGraph<V> extends AbstractGraph<V> {
      */
     @Override
     public OptionalInt removeEdge(V from, V to) {
-        Set<Edge<V>> adjacentEdgesSet = vertices.get(from);
+        var targets = vertices.get(from);
+        if (targets == null || !targets.containsKey(to)) {
+            return OptionalInt.empty();
+        }
 
-        Optional<Edge<V>> edge = Stream.ofNullable(adjacentEdgesSet)
-            .flatMap((set) -> set.stream())
-            .filter((e) -> e.to() == to)
-            .findAny();
+        incoming.get(to).remove(from);
+        int weight = targets.remove(to);
+        edgeRemoved(from, to, weight);
+        return OptionalInt.of(weight);
+    }
 
-        edge.ifPresent(adjacentEdgesSet::remove);
+    private void edgeRemoved(V from, V to, int weight) {
+        edgesCount--;
+        hash -= edgeHash(from, to, weight);
+    }
 
-        return edge.map(Edge::weight)
-                   .map(OptionalInt::of)
-                   .orElseGet(OptionalInt::empty);
+    /**
+     * Changes edge's weight to a specified one.
+     * If edge doesn't exist, this method does nothing and 
+     * returns {@link OptionalInt#empty()}.
+     * 
+     * @param  from  a vertex a specified edge comes from
+     * @param  to  a vertex a specified edge comes to
+     * @param  newWeight  a new weight of an edge
+     * 
+     * @return {@link OptionalInt} of old weight if an edge related to specified 
+     *         vertices exists, 
+     *         {@link OptionalInt#empty()} otherwise
+     * 
+     * @see OptionalInt
+     */
+    @Override
+    public OptionalInt reweightEdge(V from, V to, int newWeight) {
+        var targets = vertices.get(from);
+        Integer oldWeight = (targets == null) ? null : targets.replace(to, newWeight);
+        if (oldWeight != null) {
+            hash += edgeHash(from, to, newWeight) - edgeHash(from, to, oldWeight);
+        }
+        return toOptionalInt(oldWeight);
     }
 
     /**
-     * {@inheritDoc}
+     * Returns a set of all edges adjacent to specified vertex, 
+     * or {@code null} if the vertex doesn't exist.
+     * 
+     * <p>The set is a view backed by this graph, so changes of the graph
+     * are reflected in it. Edge records are created while iterating,
+     * membership is checked in a constant expected time.
+     * 
+     * @param  vertex  a vertex which adjacent edges are returned
+     * @return a set of edges adjacent to the specified vertex
      */
     @Override
     public Set<Edge<V>> getAdjacentEdges(V vertex) {
-        return vertices.get(vertex);
+        var targets = vertices.get(vertex);
+        return (targets == null) ? null : new AdjacentEdgesView(vertex, targets);
+    }
+
+    /**
+     * Returns a set of all edges coming to specified vertex, 
+     * or {@code null} if the vertex doesn't exist.
+     * 
+     * <p>The set is a view backed by this graph, built upon an index 
+     * of sources, so this method takes a constant time.
+     * 
+     * @param  vertex  a vertex which incoming edges are returned
+     * @return a set of edges coming to the specified vertex
+     */
+    @Override
+    public Set<Edge<V>> getIncomingEdges(V vertex) {
+        var sources = incoming.get(vertex);
+        return (sources == null) ? null : new IncomingEdgesView(vertex, sources);
     }
 
     /**
@@ -218,11 +361,175 @@ public class IncidentListGraph<V> extends AbstractGraph<V> {
         return vertices.keySet();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation iterates maps of targets directly.
+     */
+    @Override
+    public void forEachEdge(EdgeConsumer<? super V> action) {
+        for (var entry : vertices.entrySet()) {
+            var from = entry.getKey();
+            for (var target : entry.getValue().entrySet()) {
+                action.accept(from, target.getKey(), target.getValue());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation iterates a map of targets directly.
+     */
+    @Override
+    public boolean forEachNeighbor(V vertex, ObjIntConsumer<? super V> action) {
+        var targets = vertices.get(vertex);
+        if (targets == null) {
+            return false;
+        }
+
+        for (var target : targets.entrySet()) {
+            action.accept(target.getKey(), target.getValue());
+        }
+        return true;
+    }
+
+    private class AdjacentEdgesView extends AbstractSet<Edge<V>> {
+        private final V from;
+        private final Map<V, Integer> targets;
+
+        AdjacentEdgesView(V from, Map<V, Integer> targets) {
+            this.from = from;
+            this.targets = targets;
+        }
+
+        @Override
+        public int size() {
+            return targets.size();
+        }
+
+        @Override
+        public boolean contains(Object obj) {
+            if (!(obj instanceof Edge<?> edge)) {
+                return false;
+            }
+
+            if (!Objects.equals(from, edge.from())) {
+                return false;
+            }
+
+            Integer weight = targets.get(edge.to());
+            return weight != null && weight == edge.weight();
+        }
+
+        @Override
+        public Iterator<Edge<V>> iterator() {
+            var entries = targets.entrySet().iterator();
+            return new Iterator<>() {
+                private V last;
+
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public Edge<V> next() {
+                    var entry = entries.next();
+                    last = entry.getKey();
+                    return new Edge<V>(from, last, entry.getValue());
+                }
+
+                @Override
+                public void remove() {
+                    int weight = targets.get(last);
+                    entries.remove();
+                    incoming.get(last).remove(from);
+                    edgeRemoved(from, last, weight);
+                }
+            };
+        }
+    }
+
+    private class IncomingEdgesView extends AbstractSet<Edge<V>> {
+        private final V to;
+        private final Set<V> sources;
+
+        IncomingEdgesView(V to, Set<V> sources) {
+            this.to = to;
+            this.sources = sources;
+        }
+
+        @Override
+        public int size() {
+            return sources.size();
+        }
+
+        @Override
+        public boolean contains(Object obj) {
+            if (!(obj instanceof Edge<?> edge) || !Objects.equals(to, edge.to())) {
+                return false;
+            }
+
+            var targets = vertices.get(edge.from());
+            Integer weight = (targets == null) ? null : targets.get(to);
+            return weight != null && weight == edge.weight();
+        }
+
+        @Override
+        public Iterator<Edge<V>> iterator() {
+            var iter = sources.iterator();
+            return new Iterator<>() {
+                private V last;
+
+                @Override
+                public boolean hasNext() {
+                    return iter.hasNext();
+                }
+
+                @Override
+                public Edge<V> next() {
+                    last = iter.next();
+                    return new Edge<V>(last, to, vertices.get(last).get(to));
+                }
+
+                @Override
+                public void remove() {
+                    iter.remove();
+                    edgeRemoved(last, to, vertices.get(last).remove(to));
+                }
+            };
+        }
+    }
+
     /**
      * Turns a graph into an empty state.
      */
     @Override
     public void clear() {
         vertices.clear();
+        incoming.clear();
+        edgesCount = 0;
+        hash = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>This implementation returns a maintained counter.
+     */
+    @Override
+    public int edgesCount() {
+        return edgesCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>This implementation returns a hash code maintained on every change.
+     */
+    @Override
+    public int hashCode() {
+        return hash;
     }
 }
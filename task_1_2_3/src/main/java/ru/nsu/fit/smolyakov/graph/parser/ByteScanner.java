@@ -0,0 +1,188 @@
+package ru.nsu.fit.smolyakov.graph.parser;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+
+/*
+ * A hand-written tokenizer over bytes of a buffer, usually a memory-mapped
+ * window of a file. For internal use only.
+ *
+ * Only ASCII bytes are special (whitespaces, line ends and delimiters),
+ * so names are scanned correctly in UTF-8 too. No objects are created
+ * while scanning, a scanned name is available as [tokenStart, tokenEnd).
+ */
+final class ByteScanner {
+    private static final byte[] NIL = {'!', 'n', 'i', 'l'};
+    private static final String AT_LINE = " at line ";
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private int position = 0;
+    private long line;
+
+    private int tokenStart;
+    private int tokenEnd;
+
+    ByteScanner(ByteBuffer buffer, int limit, long firstLine) {
+        this.buffer = buffer;
+        this.limit = limit;
+        this.line = firstLine;
+    }
+
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    int tokenStart() {
+        return tokenStart;
+    }
+
+    int tokenEnd() {
+        return tokenEnd;
+    }
+
+    int position() {
+        return position;
+    }
+
+    long line() {
+        return line;
+    }
+
+    boolean hasRemaining() {
+        return position < limit;
+    }
+
+    void skipBlanks() {
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (b != ' ' && b != '\t' && b != '\r') {
+                break;
+            }
+            position++;
+        }
+    }
+
+    boolean atLineEnd() {
+        return position == limit || buffer.get(position) == '\n';
+    }
+
+    // moves to the beginning of the next line
+    void nextLine() {
+        while (position < limit && buffer.get(position++) != '\n') {
+            // skipping the rest of a line
+        }
+        line++;
+    }
+
+    // skips a line if it's blank or a commentary
+    boolean skipEmptyLine() {
+        skipBlanks();
+        if (atLineEnd() || buffer.get(position) == '#') {
+            nextLine();
+            return true;
+        }
+        return false;
+    }
+
+    // a line must not contain anything else
+    void endLine() throws DataFormatException {
+        skipBlanks();
+        if (!atLineEnd()) {
+            throw error("unexpected symbols at the end of a line");
+        }
+        nextLine();
+    }
+
+    void expect(char symbol) throws DataFormatException {
+        skipBlanks();
+        if (position == limit || buffer.get(position) != symbol) {
+            throw error("'" + symbol + "' expected");
+        }
+        position++;
+    }
+
+    /*
+     * Scans a name, which ends with a whitespace, a line end,
+     * ':' or "->", and returns false if there is no name.
+     */
+    boolean nextName() {
+        skipBlanks();
+        tokenStart = position;
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == ':'
+                || (b == '-' && position + 1 < limit && buffer.get(position + 1) == '>')) {
+                break;
+            }
+            position++;
+        }
+        tokenEnd = position;
+        return tokenEnd > tokenStart;
+    }
+
+    boolean tokenIsNil() {
+        if (tokenEnd - tokenStart != NIL.length) {
+            return false;
+        }
+        for (int i = 0; i < NIL.length; i++) {
+            if (buffer.get(tokenStart + i) != NIL[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // parses the last scanned token as an int
+    int tokenAsInt() throws DataFormatException {
+        int i = tokenStart;
+        boolean negative = i < tokenEnd && buffer.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == tokenEnd) {
+            throw error("a number expected");
+        }
+
+        long value = 0;
+        for (; i < tokenEnd; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw error("a number expected");
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw error("a number is too large");
+            }
+        }
+
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw error("a number is too large");
+        }
+        return (int) value;
+    }
+
+    DataFormatException error(String message) {
+        return new LineError(message, line);
+    }
+
+    // an error which line is kept as a number, so a scanner which lines
+    // were numbered from 1 can be renumbered as if they started at firstLine
+    static final class LineError extends DataFormatException {
+        private static final long serialVersionUID = 1L;
+
+        private final String reason;
+        private final long line;
+
+        private LineError(String reason, long line) {
+            super(reason + AT_LINE + line);
+            this.reason = reason;
+            this.line = line;
+        }
+
+        LineError renumbered(long firstLine) {
+            return new LineError(reason, line + firstLine - 1);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import java.util.regex.Pattern;
 import java.util.zip.DataFormatException;
 
 import ru.nsu.fit.smolyakov.graph.Edge;
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
 import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
 
 /**
@@ -122,4 +123,16 @@ public class EdgesSetParser {
     public IncidentListGraph<String> toGraph() {
         return new IncidentListGraph<String>(verticesSet, edgesSet);
     }
+
+    /**
+     * Instanciates an immutable
+     * {@link ru.nsu.fit.smolyakov.graph.csr.CsrGraph}
+     * based on a result of parsing, which is much more compact 
+     * for large graphs.
+     * 
+     * @return a new instance of {@link ru.nsu.fit.smolyakov.graph.csr.CsrGraph}
+     */
+    public CsrGraph<String> toCsrGraph() {
+        return new CsrGraph<String>(verticesSet, edgesSet);
+    }
 }
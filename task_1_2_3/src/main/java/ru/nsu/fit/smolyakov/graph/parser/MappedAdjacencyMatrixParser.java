@@ -0,0 +1,151 @@
+package ru.nsu.fit.smolyakov.graph.parser;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+
+import ru.nsu.fit.smolyakov.graph.adjacency_matrix.AdjacencyMatrixGraph;
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
+
+/**
+ * Provides a fast parser for a file containing graph specification
+ * represented by an adjacency matrix, in the same format as
+ * {@link AdjacencyMatrixParser} does.
+ *
+ * <p>Unlike {@link AdjacencyMatrixParser}, a file is memory-mapped and scanned
+ * byte by byte without regular expressions, and present edges are streamed
+ * straight into a {@link CsrGraph.Builder}, so no boxed {@code Integer[][]}
+ * matrix is created.
+ *
+ * <p>{@link #toCsrGraph} method returns a parsed graph,
+ * {@link #toGraph} method converts it into an
+ * {@link ru.nsu.fit.smolyakov.graph.adjacency_matrix.AdjacencyMatrixGraph}.
+ *
+ * @see AdjacencyMatrixParser
+ * @see ru.nsu.fit.smolyakov.graph.csr.CsrGraph
+ */
+public class MappedAdjacencyMatrixParser {
+    private final CsrGraph<String> graph;
+
+    /**
+     * Constructs an adjacency matrix parser for a specified file.
+     *
+     * <p>First line should contain whitespace-separated names of vertices belong to
+     * graph which is being constructed, {@code !nil} stands for {@code null}.
+     * Remaining lines have to contain an adjacency matrix, where {@code !nil}
+     * stands for an absent edge. Blank lines and lines starting with {@code #}
+     * are skipped.
+     *
+     * <p>For example:
+     *
+     * <p>{@code a !nil c}
+     * <p>{@code # Commentary starts with #}
+     * <p>{@code !nil    2    1}
+     * <p>{@code    0    2    1}
+     * <p>{@code 1234    2 9000}
+     *
+     * @param  source  a path to a file
+     *
+     * @throws IOException  if a file is unavailable
+     * @throws DataFormatException  if a specified file has incorrect format
+     */
+    public MappedAdjacencyMatrixParser(Path source) throws IOException, DataFormatException {
+        this(source, MappedWindows.DEFAULT_WINDOW);
+    }
+
+    // a window size is specified by tests only
+    MappedAdjacencyMatrixParser(Path source, int window) throws IOException, DataFormatException {
+        try (var channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            var windows = new MappedWindows(channel, 0, channel.size(), window);
+            var builder = new CsrGraph.Builder<String>();
+            int[] ids = new int[0];
+
+            int row = 0;
+            boolean first = true;
+            while (windows.hasNext()) {
+                var scanner = windows.next();
+                if (first) {
+                    ids = readVertices(scanner, builder);
+                    first = false;
+                }
+
+                while (scanner.hasRemaining()) {
+                    if (scanner.skipEmptyLine()) {
+                        continue;
+                    }
+                    if (row == ids.length) {
+                        throw scanner.error("too many rows");
+                    }
+                    readRow(scanner, builder, ids, row++);
+                }
+            }
+
+            if (row < ids.length) {
+                throw new DataFormatException("too few rows");
+            }
+            graph = builder.build();
+        }
+    }
+
+    // returns ids of vertices in order of their columns
+    private static int[] readVertices(ByteScanner scanner,
+                                      CsrGraph.Builder<String> builder) throws DataFormatException {
+        var ids = new int[16];
+        int count = 0;
+        while (scanner.nextName()) {
+            String vertex = null;
+            if (!scanner.tokenIsNil()) {
+                var bytes = new byte[scanner.tokenEnd() - scanner.tokenStart()];
+                scanner.buffer().get(scanner.tokenStart(), bytes);
+                vertex = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = builder.addVertex(vertex);
+        }
+        scanner.endLine();
+        return Arrays.copyOf(ids, count);
+    }
+
+    private static void readRow(ByteScanner scanner,
+                                CsrGraph.Builder<String> builder,
+                                int[] ids,
+                                int row) throws DataFormatException {
+        for (int column = 0; column < ids.length; column++) {
+            if (!scanner.nextName()) {
+                throw scanner.error("too few columns");
+            }
+            if (!scanner.tokenIsNil()) {
+                builder.addEdge(ids[row], ids[column], scanner.tokenAsInt());
+            }
+        }
+        scanner.endLine();
+    }
+
+    /**
+     * Returns a parsed graph.
+     *
+     * @return a parsed {@link ru.nsu.fit.smolyakov.graph.csr.CsrGraph}
+     */
+    public CsrGraph<String> toCsrGraph() {
+        return graph;
+    }
+
+    /**
+     * Instanciates an
+     * {@link ru.nsu.fit.smolyakov.graph.adjacency_matrix.AdjacencyMatrixGraph}
+     * based on a result of parsing.
+     *
+     * @return a new instance of
+     * {@link ru.nsu.fit.smolyakov.graph.adjacency_matrix.AdjacencyMatrixGraph}
+     */
+    public AdjacencyMatrixGraph<String> toGraph() {
+        return (AdjacencyMatrixGraph<String>) graph.switchGraphRepresentation(new AdjacencyMatrixGraph<>());
+    }
+}
@@ -0,0 +1,157 @@
+package ru.nsu.fit.smolyakov.graph.parser;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
+import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
+
+/**
+ * Provides a fast parser for a file containing graph specification
+ * represented by an edges set, in the same format as {@link EdgesSetParser} does.
+ *
+ * <p>Unlike {@link EdgesSetParser}, a file is memory-mapped and scanned byte by byte
+ * without regular expressions, names of vertices are decoded as UTF-8 only once,
+ * and edges are streamed straight into a {@link CsrGraph.Builder},
+ * so no {@link ru.nsu.fit.smolyakov.graph.Edge} records or boxed
+ * weights are created. It's suitable for files with hundreds of millions of edges.
+ *
+ * <p>{@link #toCsrGraph} method returns a parsed graph,
+ * {@link #toGraph} method converts it into an
+ * {@link ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph}.
+ *
+ * @see EdgesSetParser
+ * @see ru.nsu.fit.smolyakov.graph.csr.CsrGraph
+ */
+public class MappedEdgesSetParser {
+    private final CsrGraph<String> graph;
+
+    /**
+     * Constructs an edges list parser for a specified file.
+     *
+     * <p>First line should contain whitespace-separated names of vertices belong to
+     * graph which is being constructed, {@code !nil} stands for {@code null}.
+     * Remaining lines have to describe a set of edges, one per line, blank lines
+     * and lines starting with {@code #} are skipped.
+     *
+     * <p>For example:
+     *
+     * <p>{@code a b c}
+     * <p>{@code # Commentary starts with #}
+     * <p>{@code a -> b : 12}
+     * <p>{@code c -> a : 100500}
+     *
+     * <p>Edges with vertices which are not listed in the first line are ignored,
+     * as {@link EdgesSetParser} does.
+     *
+     * @param  source  a path to a file
+     *
+     * @throws IOException  if a file is unavailable
+     * @throws DataFormatException  if a specified file has incorrect format
+     */
+    public MappedEdgesSetParser(Path source) throws IOException, DataFormatException {
+        this(source, MappedWindows.DEFAULT_WINDOW);
+    }
+
+    // a window size is specified by tests only
+    MappedEdgesSetParser(Path source, int window) throws IOException, DataFormatException {
+        try (var channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            var windows = new MappedWindows(channel, 0, channel.size(), window);
+            var builder = new CsrGraph.Builder<String>();
+            var names = new VertexTable();
+            var edge = new int[3];
+
+            boolean first = true;
+            while (windows.hasNext()) {
+                var scanner = windows.next();
+                if (first) {
+                    readVertices(scanner, names, builder);
+                    first = false;
+                }
+
+                while (scanner.hasRemaining()) {
+                    if (readEdge(scanner, names, edge) && edge[0] >= 0 && edge[1] >= 0) {
+                        builder.addEdge(edge[0], edge[1], edge[2]);
+                    }
+                }
+            }
+            graph = builder.build();
+        }
+    }
+
+    // reads the first line, vertex ids are stored in the table
+    static void readVertices(ByteScanner scanner,
+                             VertexTable names,
+                             CsrGraph.Builder<String> builder) throws DataFormatException {
+        while (scanner.nextName()) {
+            var buffer = scanner.buffer();
+            int start = scanner.tokenStart();
+            int end = scanner.tokenEnd();
+            if (names.get(buffer, start, end) < 0) {
+                String vertex = null;
+                if (!scanner.tokenIsNil()) {
+                    var bytes = new byte[end - start];
+                    buffer.get(start, bytes);
+                    vertex = new String(bytes, StandardCharsets.UTF_8);
+                }
+                names.put(buffer, start, end, builder.addVertex(vertex));
+            }
+        }
+        scanner.endLine();
+    }
+
+    /*
+     * Reads a line, and returns false if it's blank or a commentary.
+     * Otherwise ids of vertices (or -1 for unknown ones) and
+     * a weight of an edge are stored into the array.
+     */
+    static boolean readEdge(ByteScanner scanner, VertexTable names, int[] edge)
+            throws DataFormatException {
+        if (scanner.skipEmptyLine()) {
+            return false;
+        }
+
+        edge[0] = readName(scanner, names);
+        scanner.expect('-');
+        scanner.expect('>');
+        edge[1] = readName(scanner, names);
+        scanner.expect(':');
+        if (!scanner.nextName()) {
+            throw scanner.error("a weight expected");
+        }
+        edge[2] = scanner.tokenAsInt();
+        scanner.endLine();
+        return true;
+    }
+
+    private static int readName(ByteScanner scanner, VertexTable names) throws DataFormatException {
+        if (!scanner.nextName()) {
+            throw scanner.error("a vertex expected");
+        }
+        return names.get(scanner.buffer(), scanner.tokenStart(), scanner.tokenEnd());
+    }
+
+    /**
+     * Returns a parsed graph.
+     *
+     * @return a parsed {@link ru.nsu.fit.smolyakov.graph.csr.CsrGraph}
+     */
+    public CsrGraph<String> toCsrGraph() {
+        return graph;
+    }
+
+    /**
+     * Instanciates an
+     * {@link ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph}
+     * based on a result of parsing.
+     *
+     * @return a new instance of {@link ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph}
+     */
+    public IncidentListGraph<String> toGraph() {
+        return graph.toIncidentList();
+    }
+}
@@ -0,0 +1,80 @@
+package ru.nsu.fit.smolyakov.graph.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.DataFormatException;
+
+/*
+ * Memory-maps a range of a file by consecutive windows, each of which
+ * ends with a line end (except for the last one), as a single mapping
+ * can't be larger than 2 GB. For internal use only.
+ */
+final class MappedWindows {
+    static final int DEFAULT_WINDOW = 1 << 30;
+
+    private final FileChannel channel;
+    private final long end;
+    private final int window;
+    private long position;
+    private ByteScanner current;
+
+    MappedWindows(FileChannel channel, long start, long end, int window) {
+        this.channel = channel;
+        this.position = start;
+        this.end = end;
+        this.window = window;
+    }
+
+    /*
+     * Returns the least position not less than a specified one, at which
+     * a line starts, or the end of a range. The range has to start with a line.
+     */
+    static long lineStart(FileChannel channel, long position, long start, long end)
+            throws IOException {
+        if (position <= start) {
+            return start;
+        }
+
+        var buffer = ByteBuffer.allocate(4096);
+        for (long current = position - 1; current < end; ) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), end - current));
+            int read = channel.read(buffer, current);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return current + i + 1;
+                }
+            }
+            current += read;
+        }
+        return end;
+    }
+
+    boolean hasNext() {
+        return position < end;
+    }
+
+    // maps the next window, lines are numbered continuously
+    ByteScanner next() throws IOException, DataFormatException {
+        long firstLine = (current == null) ? 1 : current.line();
+        int size = (int) Math.min(window, end - position);
+        var buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+
+        int limit = size;
+        if (position + size < end) {
+            while (limit > 0 && buffer.get(limit - 1) != '\n') {
+                limit--;
+            }
+            if (limit == 0) {
+                throw new DataFormatException("line is too long at line " + firstLine);
+            }
+        }
+
+        position += limit;
+        current = new ByteScanner(buffer, limit, firstLine);
+        return current;
+    }
+}
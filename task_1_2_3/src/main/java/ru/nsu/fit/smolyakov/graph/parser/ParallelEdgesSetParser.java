@@ -0,0 +1,211 @@
+package ru.nsu.fit.smolyakov.graph.parser;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.DataFormatException;
+
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
+import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
+
+/**
+ * Provides a parser for a file containing graph specification represented
+ * by an edges set, which parses edges by several threads at once.
+ * The format is the same as {@link EdgesSetParser} and
+ * {@link MappedEdgesSetParser} use.
+ *
+ * <p>At first the line of vertices is parsed. As all vertices are known
+ * after that, the rest of a file is split at line boundaries into chunks,
+ * which are parsed concurrently by workers of a {@link ForkJoinPool} into
+ * primitive arrays, and then merged in the order of a file. So a result
+ * is the same as {@link MappedEdgesSetParser} gives, even if a file
+ * contains several edges with the same vertices.
+ *
+ * <p>A small file is parsed by a single chunk.
+ *
+ * @see MappedEdgesSetParser
+ * @see ru.nsu.fit.smolyakov.graph.csr.CsrGraph
+ */
+public class ParallelEdgesSetParser {
+    static final long MIN_CHUNK = 1 << 20;
+
+    private final CsrGraph<String> graph;
+
+    /**
+     * Constructs a parser for a specified file, which uses
+     * the common {@link ForkJoinPool}.
+     *
+     * @param  source  a path to a file
+     *
+     * @throws IOException  if a file is unavailable
+     * @throws DataFormatException  if a specified file has incorrect format
+     * @see    MappedEdgesSetParser#MappedEdgesSetParser(Path)
+     */
+    public ParallelEdgesSetParser(Path source) throws IOException, DataFormatException {
+        this(source, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a parser for a specified file, which uses
+     * workers of a specified {@code pool}.
+     *
+     * @param  source  a path to a file
+     * @param  pool  a pool to parse chunks by
+     *
+     * @throws IOException  if a file is unavailable
+     * @throws DataFormatException  if a specified file has incorrect format
+     * @see    MappedEdgesSetParser#MappedEdgesSetParser(Path)
+     */
+    public ParallelEdgesSetParser(Path source, ForkJoinPool pool) throws IOException, DataFormatException {
+        this(source, pool, MIN_CHUNK);
+    }
+
+    // a minimal chunk size is specified by tests only
+    ParallelEdgesSetParser(Path source, ForkJoinPool pool, long minChunk)
+            throws IOException, DataFormatException {
+        try (var channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            var builder = new CsrGraph.Builder<String>();
+            var names = new VertexTable();
+
+            long start = 0;
+            long line = 1;
+            if (size > 0) {
+                var header = new MappedWindows(channel, 0, size, MappedWindows.DEFAULT_WINDOW).next();
+                MappedEdgesSetParser.readVertices(header, names, builder);
+                start = header.position();
+                line = header.line();
+            }
+
+            // a few chunks per worker balance uneven lines
+            long chunks = Math.max(1, Math.min((size - start) / minChunk, 4L * pool.getParallelism()));
+            var tasks = new ArrayList<Callable<Chunk>>();
+            long chunkStart = start;
+            for (long i = 1; i <= chunks; i++) {
+                long chunkEnd = MappedWindows.lineStart(channel, start + (size - start) * i / chunks, start, size);
+                if (chunkEnd > chunkStart) {
+                    long from = chunkStart;
+                    tasks.add(() -> parseChunk(channel, from, chunkEnd, names));
+                }
+                chunkStart = chunkEnd;
+            }
+
+            // lines of a chunk are numbered from 1, as preceding chunks
+            // are parsed at the same time, so errors are renumbered here
+            for (var future : pool.invokeAll(tasks)) {
+                var chunk = join(future, line);
+                builder.addEdges(chunk.from, chunk.to, chunk.weight, chunk.size);
+                line += chunk.lines;
+            }
+            graph = builder.build();
+        }
+    }
+
+    // a checked exception is kept by a chunk, as a pool would wrap it
+    private static Chunk parseChunk(FileChannel channel, long start, long end, VertexTable names) {
+        var windows = new MappedWindows(channel, start, end, MappedWindows.DEFAULT_WINDOW);
+        var chunk = new Chunk((int) Math.min(1 << 16, (end - start) / 8));
+        var edge = new int[3];
+
+        try {
+            ByteScanner scanner = null;
+            while (windows.hasNext()) {
+                scanner = windows.next();
+                while (scanner.hasRemaining()) {
+                    if (MappedEdgesSetParser.readEdge(scanner, names, edge)
+                        && edge[0] >= 0 && edge[1] >= 0) {
+                        chunk.add(edge[0], edge[1], edge[2]);
+                    }
+                }
+            }
+            // a chunk ends with a line end, unless it's the last one
+            chunk.lines = (scanner == null) ? 0 : scanner.line() - 1;
+        } catch (IOException | DataFormatException e) {
+            chunk.failure = e;
+        }
+        return chunk;
+    }
+
+    // firstLine is a number of the first line of a chunk in a file
+    private static Chunk join(Future<Chunk> future, long firstLine) throws IOException, DataFormatException {
+        Chunk chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while parsing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        if (chunk.failure instanceof ByteScanner.LineError lineError) {
+            throw lineError.renumbered(firstLine);
+        } else if (chunk.failure instanceof DataFormatException dataFormatException) {
+            throw dataFormatException;
+        } else if (chunk.failure instanceof IOException ioException) {
+            throw ioException;
+        }
+        return chunk;
+    }
+
+    // edges parsed by a single worker
+    private static class Chunk {
+        private int[] from;
+        private int[] to;
+        private int[] weight;
+        private int size = 0;
+        private long lines = 0;
+        private Exception failure;
+
+        private Chunk(int capacity) {
+            capacity = Math.max(capacity, 16);
+            from = new int[capacity];
+            to = new int[capacity];
+            weight = new int[capacity];
+        }
+
+        private void add(int fromId, int toId, int edgeWeight) {
+            if (size == from.length) {
+                int capacity = size + (size >> 1);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+            }
+            from[size] = fromId;
+            to[size] = toId;
+            weight[size] = edgeWeight;
+            size++;
+        }
+    }
+
+    /**
+     * Returns a parsed graph.
+     *
+     * @return a parsed {@link ru.nsu.fit.smolyakov.graph.csr.CsrGraph}
+     */
+    public CsrGraph<String> toCsrGraph() {
+        return graph;
+    }
+
+    /**
+     * Instanciates an
+     * {@link ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph}
+     * based on a result of parsing.
+     *
+     * @return a new instance of {@link ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph}
+     */
+    public IncidentListGraph<String> toGraph() {
+        return graph.toIncidentList();
+    }
+}
@@ -0,0 +1,98 @@
+package ru.nsu.fit.smolyakov.graph.parser;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/*
+ * An open addressing hash table from names, given as byte ranges
+ * of a buffer, to int values. For internal use only.
+ *
+ * A name is copied only once, when it's put, so looking up names
+ * of edges creates no objects at all. All names are stored in a single
+ * array, and a slot holds a hash together with an entry, so a lookup
+ * touches as few cache lines as possible.
+ */
+final class VertexTable {
+    // a hash in higher bits, an entry + 1 in lower ones, 0 if a slot is empty
+    private long[] slots = new long[64];
+    private byte[] pool = new byte[256];
+    private int[] starts = new int[17];
+    private int[] values = new int[16];
+    private int size = 0;
+
+    // returns a value of a name, or -1 if there is no such name
+    int get(ByteBuffer buffer, int start, int end) {
+        int hash = hash(buffer, start, end);
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            long packed = slots[slot];
+            int entry = (int) packed - 1;
+            if ((int) (packed >>> 32) == hash && equals(entry, buffer, start, end)) {
+                return values[entry];
+            }
+        }
+        return -1;
+    }
+
+    // puts a name, which is absent, with a non-negative value
+    void put(ByteBuffer buffer, int start, int end, int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            starts = Arrays.copyOf(starts, size * 2 + 1);
+        }
+        if (2 * (size + 1) > slots.length) {
+            rehash(slots.length * 2);
+        }
+
+        int offset = starts[size];
+        if (offset + (end - start) > pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(pool.length * 2, offset + (end - start)));
+        }
+        buffer.get(start, pool, offset, end - start);
+        starts[size + 1] = offset + (end - start);
+        values[size] = value;
+        insert(hash(buffer, start, end), size);
+        size++;
+    }
+
+    private void rehash(int capacity) {
+        var old = slots;
+        slots = new long[capacity];
+        for (long packed : old) {
+            if (packed != 0) {
+                insert((int) (packed >>> 32), (int) packed - 1);
+            }
+        }
+    }
+
+    private void insert(int hash, int entry) {
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = ((long) hash << 32) | (entry + 1);
+    }
+
+    private static int hash(ByteBuffer buffer, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buffer.get(i);
+        }
+        // spreads higher bits, as lower ones are used to find a slot
+        return hash ^ (hash >>> 16);
+    }
+
+    private boolean equals(int entry, ByteBuffer buffer, int start, int end) {
+        int offset = starts[entry];
+        if (starts[entry + 1] - offset != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (pool[offset++] != buffer.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -6,6 +6,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -92,6 +93,15 @@ class AdjacencyMatrixGraphTest {
         assertThat(emptyGraph.addEdge(new Edge<String>("a", "b", 1))).isTrue();
     }
 
+    @Test
+    void addExistingEdgeTest() {
+        assertThat(graph.addEdge("a", "b", 666)).isFalse();
+        assertThat(graph.getEdgeWeight("a", "b")).isEqualTo(OptionalInt.of(1));
+        assertThat(graph.reweightEdge("b", "a", 666)).isEqualTo(OptionalInt.empty());
+        assertThat(graph.edgeExists("b", "a")).isFalse();
+        assertThat(graph.edgesCount()).isEqualTo(TestLists.someGraphEdgesSet.size());
+    }
+
     @Test 
     void getEdgeTest() {
         assertThat(graph.getEdge("a", "b")).isEqualTo(Optional.of(new Edge<String>("a", "b", 1)));
@@ -142,6 +152,29 @@ class AdjacencyMatrixGraphTest {
         assertThat(graph.getAdjacentEdges("aboba")).isNull();
     }
 
+    @Test
+    void getIncomingEdgesTest() {
+        assertThat(graph.getIncomingEdges("c"))
+            .isEqualTo(Set.of(new Edge<>("b", "c", 5), new Edge<>("d", "c", 4)));
+        assertThat(graph.getIncomingEdges("aboba")).isNull();
+    }
+
+    @Test
+    void growingMatrixTest() {
+        var bigGraph = new AdjacencyMatrixGraph<Integer>();
+        for (int i = 0; i < 3000; i++) {
+            bigGraph.addVertex(i);
+            bigGraph.addEdge(i, i / 2, i);
+        }
+        bigGraph.removeEdge(2999, 1499);
+
+        assertThat(bigGraph.getEdgeWeight(2998, 1499)).isEqualTo(OptionalInt.of(2998));
+        assertThat(bigGraph.getEdgeWeight(2999, 1499)).isEqualTo(OptionalInt.empty());
+        assertThat(bigGraph.getEdgeWeight(0, 0)).isEqualTo(OptionalInt.of(0));
+        assertThat(bigGraph.getEdgeWeight(1, 1)).isEqualTo(OptionalInt.empty());
+        assertThat(bigGraph.edgesCount()).isEqualTo(2999);
+    }
+
     // inherited methods test
 
     @Test 
@@ -0,0 +1,150 @@
+package ru.nsu.fit.smolyakov.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ru.nsu.fit.smolyakov.graph.adjacency_matrix.AdjacencyMatrixGraph;
+import ru.nsu.fit.smolyakov.graph.caching.CacheStatistics;
+import ru.nsu.fit.smolyakov.graph.caching.CachingGraph;
+import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
+
+class CachingGraphTest {
+    IncidentListGraph<String> incidentListGraph;
+    CachingGraph<String> graph;
+
+    @BeforeEach
+    void init() {
+        var vertices = TestLists.verticesSet();
+        vertices.remove(null);
+        vertices.add("imagine i am null");
+        incidentListGraph = new IncidentListGraph<String>(vertices, TestLists.someGraphEdgesSet);
+        graph = new CachingGraph<String>(incidentListGraph, 3);
+    }
+
+    @Test
+    void hitsAndMissesTest() {
+        assertThat(graph.findShortestPaths("c")).isEqualTo(TestLists.shortestPathsFromC);
+        assertThat(graph.findShortestPaths("c")).isEqualTo(TestLists.shortestPathsFromC);
+        assertThat(graph.findShortestPaths("c", ShortestPathsStrategy.DELTA_STEPPING))
+            .isEqualTo(TestLists.shortestPathsFromC);
+
+        assertThat(graph.getStatistics()).isEqualTo(new CacheStatistics(2, 1, 0, 0));
+        assertThat(graph.getStatistics().hitRate()).isEqualTo(2.0 / 3);
+        assertThat(graph).isEqualTo(incidentListGraph);
+
+        assertThatThrownBy(() -> graph.findShortestPaths("c").put("c", 1))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> graph.getAdjacentEdges("c").clear())
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> new CachingGraph<String>(incidentListGraph, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void evictionTest() {
+        graph.findShortestPaths("a");
+        graph.findShortestPaths("b");
+        graph.findShortestPaths("c");
+        graph.findShortestPaths("a");
+        graph.findShortestPaths("d");
+        assertThat(graph.cachedCount()).isEqualTo(3);
+        assertThat(graph.getStatistics()).isEqualTo(new CacheStatistics(1, 4, 1, 0));
+
+        // "b" is the least recently used one
+        graph.findShortestPaths("a");
+        graph.findShortestPaths("c");
+        graph.findShortestPaths("d");
+        graph.findShortestPaths("b");
+        assertThat(graph.getStatistics()).isEqualTo(new CacheStatistics(4, 5, 2, 0));
+    }
+
+    @Test
+    void selectiveInvalidationTest() {
+        graph.findShortestPaths("c");
+        graph.findShortestPaths("imagine i am null");
+
+        // "imagine i am null" reaches nothing
+        graph.addEdge("c", "b", 100);
+        assertThat(graph.getStatistics().invalidations()).isEqualTo(0);
+        graph.removeEdge("c", "b");
+        assertThat(graph.getStatistics().invalidations()).isEqualTo(0);
+
+        graph.addVertex("e");
+        assertThat(graph.getStatistics().invalidations()).isEqualTo(0);
+        assertThat(graph.findShortestPaths("c")).containsEntry("e", Integer.MAX_VALUE);
+
+        graph.addEdge("b", "e", 1);
+        assertThat(graph.getStatistics().invalidations()).isEqualTo(1);
+        assertThat(graph.findShortestPaths("c")).containsEntry("e", 4);
+        assertThat(graph.findShortestPaths("imagine i am null")).containsEntry("e", Integer.MAX_VALUE);
+
+        graph.reweightEdge("b", "e", 2);
+        assertThat(graph.getStatistics().invalidations()).isEqualTo(2);
+        assertThat(graph.findShortestPaths("c")).containsEntry("e", 5);
+
+        graph.removeVertex("e");
+        assertThat(graph.getStatistics().invalidations()).isEqualTo(3);
+        assertThat(graph.findShortestPaths("imagine i am null")).doesNotContainKey("e");
+
+        graph.clear();
+        assertThat(graph.cachedCount()).isEqualTo(0);
+        assertThat(incidentListGraph.isEmpty()).isTrue();
+    }
+
+    @Test
+    void absentSourceTest() {
+        assertThat(graph.findShortestPaths("e")).doesNotContainKey("e");
+        graph.addVertex("e");
+        assertThat(graph.findShortestPaths("e")).containsEntry("e", 0);
+    }
+
+    @Test
+    void negativeWeightTest() {
+        graph.findShortestPaths("c");
+        graph.reweightEdge("a", "b", -1);
+        assertThatThrownBy(() -> graph.findShortestPaths("c"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void randomMutationsTest() {
+        var random = new Random(11);
+        int verticesCount = 30;
+        for (Graph<Integer> decorated : List.<Graph<Integer>>of(
+                 new IncidentListGraph<Integer>(), new AdjacencyMatrixGraph<Integer>())) {
+            var caching = new CachingGraph<Integer>(decorated, 10);
+            for (int i = 0; i < verticesCount; i++) {
+                caching.addVertex(i);
+            }
+
+            for (int step = 0; step < 2000; step++) {
+                int from = random.nextInt(verticesCount);
+                int to = random.nextInt(verticesCount);
+                switch (random.nextInt(6)) {
+                    case 0, 1 -> caching.addEdge(from, to, random.nextInt(20));
+                    case 2 -> caching.removeEdge(from, to);
+                    case 3 -> caching.reweightEdge(from, to, random.nextInt(20));
+                    case 4 -> {
+                        if (random.nextInt(10) == 0) {
+                            caching.removeVertex(from);
+                        } else {
+                            caching.addVertex(from);
+                        }
+                    }
+                    default -> { }
+                }
+
+                int source = random.nextInt(verticesCount);
+                assertThat(caching.findShortestPaths(source))
+                    .isEqualTo(decorated.findShortestPaths(source));
+            }
+            assertThat(caching.getStatistics().hits()).isPositive();
+        }
+    }
+}
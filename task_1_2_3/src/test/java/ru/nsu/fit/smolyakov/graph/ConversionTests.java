@@ -2,9 +2,16 @@ package ru.nsu.fit.smolyakov.graph;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
 
 import ru.nsu.fit.smolyakov.graph.adjacency_matrix.AdjacencyMatrixGraph;
+import ru.nsu.fit.smolyakov.graph.caching.CachingGraph;
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
 import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
 
 class ConversionTests {
@@ -46,4 +53,66 @@ class ConversionTests {
         assertThat(adjacencyMatrixGraph.switchGraphRepresentation(incidentListGraph))
             .isEqualTo(adjacencyMatrixGraph);
     }
+
+    static <V> Set<Edge<V>> collectEdges(AbstractGraph<V> graph) {
+        Set<Edge<V>> edges = new HashSet<>();
+        graph.forEachEdge((from, to, weight) -> edges.add(new Edge<V>(from, to, weight)));
+        return edges;
+    }
+
+    @Test
+    void forEachEdgeTest() {
+        var incidentListGraph =
+            new IncidentListGraph<String>(TestLists.verticesSet(), TestLists.someGraphEdgesSet);
+        var adjacencyMatrixGraph =
+            new AdjacencyMatrixGraph<String>(TestLists.verticesList(), TestLists.someGraphMatrix);
+
+        for (AbstractGraph<String> graph : List.<AbstractGraph<String>>of(
+                 incidentListGraph,
+                 adjacencyMatrixGraph,
+                 new CsrGraph<String>(incidentListGraph),
+                 new CachingGraph<String>(incidentListGraph, 1))) {
+            assertThat(collectEdges(graph)).isEqualTo(TestLists.someGraphEdgesSet);
+        }
+    }
+
+    @Test
+    void randomConversions() {
+        var random = new Random(49);
+        var graph = new IncidentListGraph<Integer>();
+        for (int i = 0; i < 150; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < 3000; i++) {
+            graph.addEdge(random.nextInt(150), random.nextInt(150), random.nextInt(100));
+        }
+        // removed vertices leave empty rows and columns in a matrix
+        var matrixGraph = graph.switchGraphRepresentation(new AdjacencyMatrixGraph<Integer>());
+        for (int i = 0; i < 150; i += 7) {
+            graph.removeVertex(i);
+            matrixGraph.removeVertex(i);
+        }
+        assertThat(matrixGraph).isEqualTo(graph);
+        assertThat(collectEdges(matrixGraph)).isEqualTo(graph.getAllEdges());
+
+        var csrGraph = new CsrGraph<Integer>(matrixGraph);
+        for (AbstractGraph<Integer> source : List.of(graph, matrixGraph, csrGraph)) {
+            for (AbstractGraph<Integer> target : List.<AbstractGraph<Integer>>of(
+                     new IncidentListGraph<Integer>(), new AdjacencyMatrixGraph<Integer>())) {
+                var converted = source.switchGraphRepresentation(target);
+                assertThat(converted).isEqualTo(graph);
+                assertThat(converted.edgesCount()).isEqualTo(graph.edgesCount());
+                assertThat(converted.hashCode()).isEqualTo(graph.hashCode());
+
+                // maintained state is consistent after a conversion
+                converted.removeVertex(1);
+                converted.addEdge(2, 3, -1);
+                var expected = new IncidentListGraph<Integer>(converted.getAllVertices(), converted.getAllEdges());
+                assertThat(converted.hashCode()).isEqualTo(expected.hashCode());
+                assertThat(converted.edgesCount()).isEqualTo(expected.edgesCount());
+                assertThat(converted.getIncomingEdges(3)).isEqualTo(expected.getIncomingEdges(3));
+            }
+        }
+        assertThat(csrGraph.toIncidentList()).isEqualTo(graph);
+    }
 }
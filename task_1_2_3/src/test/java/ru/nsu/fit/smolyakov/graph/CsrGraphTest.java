@@ -0,0 +1,239 @@
+package ru.nsu.fit.smolyakov.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ru.nsu.fit.smolyakov.graph.adjacency_matrix.AdjacencyMatrixGraph;
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
+import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
+
+class CsrGraphTest {
+    CsrGraph<String> graph;
+
+    @BeforeEach
+    void init() {
+        graph = new CsrGraph<String>(TestLists.verticesSet(), TestLists.someGraphEdgesSet);
+    }
+
+    @Test
+    void constructorsTest() {
+        var incidentListGraph = 
+            new IncidentListGraph<String>(TestLists.verticesSet(), TestLists.someGraphEdgesSet);
+
+        assertThat(graph).isEqualTo(incidentListGraph);
+        assertThat(graph.hashCode()).isEqualTo(incidentListGraph.hashCode());
+
+        assertThat(new CsrGraph<String>(TestLists.verticesList(), TestLists.someGraphMatrix))
+            .isEqualTo(graph);
+        assertThat(new CsrGraph<String>(incidentListGraph))
+            .isEqualTo(graph);
+        assertThat(new CsrGraph<String>(new AdjacencyMatrixGraph<>(TestLists.verticesList(), TestLists.someGraphMatrix)))
+            .isEqualTo(graph);
+        assertThat(new CsrGraph<String>(TestLists.someGraphEdgesSet).getAllVertices())
+            .isEqualTo(TestLists.verticesSetNoTerminal);
+    }
+
+    @Test
+    void queriesTest() {
+        assertThat(graph.verticesCount()).isEqualTo(TestLists.verticesSet().size());
+        assertThat(graph.edgesCount()).isEqualTo(TestLists.someGraphEdgesSet.size());
+
+        assertThat(graph.getEdge("a", "b")).isEqualTo(Optional.of(new Edge<String>("a", "b", 1)));
+        assertThat(graph.getEdge("a", "boba")).isEqualTo(Optional.empty());
+        assertThat(graph.getEdgeWeight("d", "b")).isEqualTo(OptionalInt.of(0));
+        assertThat(graph.edgeExists("b", "a")).isFalse();
+
+        assertThat(graph.getAdjacentEdges("c")).isEqualTo(TestLists.edgesAdjacentToC);
+        assertThat(graph.getAdjacentEdges("aboba")).isNull();
+        assertThat(graph.getAllEdges()).isEqualTo(TestLists.someGraphEdgesSet);
+    }
+
+    @Test
+    void shortestPathsTest() {
+        var vertices = TestLists.verticesSet();
+        vertices.remove(null);
+        vertices.add("imagine i am null");
+
+        var csrGraph = new CsrGraph<String>(vertices, TestLists.someGraphEdgesSet);
+        assertThat(csrGraph.findShortestPaths("c")).isEqualTo(TestLists.shortestPathsFromC);
+    }
+
+    @Test
+    void builderTest() {
+        var builder = new CsrGraph.Builder<String>();
+        builder.addEdge("a", "b", 1)
+               .addEdge("a", "b", 2)
+               .addEdge("b", "a", 3);
+        int c = builder.addVertex("c");
+        builder.addEdge(c, builder.vertexId("a"), 4);
+
+        var built = builder.build();
+        assertThat(built.getEdgeWeight("a", "b")).isEqualTo(OptionalInt.of(1));
+        assertThat(built.getEdgeWeight("c", "a")).isEqualTo(OptionalInt.of(4));
+        assertThat(built.edgesCount()).isEqualTo(3);
+
+        builder.addEdge("c", "b", 5);
+        assertThat(built.edgeExists("c", "b")).isFalse();
+        assertThat(builder.build().edgeExists("c", "b")).isTrue();
+
+        assertThatThrownBy(() -> builder.addEdge(0, 100, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void builderAddEdgesTest() {
+        var builder = new CsrGraph.Builder<String>();
+        int a = builder.addVertex("a");
+        int b = builder.addVertex("b");
+        builder.addEdge(a, b, 1);
+        builder.addEdges(new int[] {a, b, b, a}, new int[] {b, a, a, a}, new int[] {2, 3, 4, 5}, 3);
+
+        var built = builder.build();
+        assertThat(built.getEdgeWeight("a", "b")).isEqualTo(OptionalInt.of(1));
+        assertThat(built.getEdgeWeight("b", "a")).isEqualTo(OptionalInt.of(3));
+        assertThat(built.edgeExists("a", "a")).isFalse();
+
+        assertThatThrownBy(() -> builder.addEdges(new int[] {a}, new int[] {100}, new int[] {1}, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.addEdges(new int[] {a}, new int[] {b}, new int[] {1}, 2))
+            .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void randomGraphTest() {
+        var random = new Random(42);
+        var incidentListGraph = new IncidentListGraph<Integer>();
+        var builder = new CsrGraph.Builder<Integer>();
+        for (int i = 0; i < 100; i++) {
+            incidentListGraph.addVertex(i);
+            builder.addVertex(i);
+        }
+
+        Set<Edge<Integer>> edges = new HashSet<>();
+        for (int i = 0; i < 3000; i++) {
+            var edge = new Edge<Integer>(random.nextInt(100), random.nextInt(100), random.nextInt(100));
+            if (!incidentListGraph.edgeExists(edge.from(), edge.to())) {
+                incidentListGraph.addEdge(edge);
+                edges.add(edge);
+            }
+            builder.addEdge(edge.from(), edge.to(), edge.weight());
+        }
+
+        var csrGraph = builder.build();
+        assertThat(csrGraph).isEqualTo(incidentListGraph);
+        assertThat(csrGraph.getAllEdges()).isEqualTo(edges);
+    }
+
+    @Test
+    void randomShortestPathsTest() {
+        var random = new Random(7);
+        int verticesCount = 200;
+        var incidentListGraph = new IncidentListGraph<Integer>();
+        for (int i = 0; i < verticesCount; i++) {
+            incidentListGraph.addVertex(i);
+        }
+        for (int i = 0; i < 1500; i++) {
+            incidentListGraph.addEdge(random.nextInt(verticesCount), random.nextInt(verticesCount), random.nextInt(1000));
+        }
+        var csrGraph = new CsrGraph<Integer>(incidentListGraph);
+
+        // Bellman-Ford
+        long[] expected = new long[verticesCount];
+        Arrays.fill(expected, Long.MAX_VALUE);
+        expected[0] = 0;
+        for (int round = 0; round < verticesCount; round++) {
+            for (var edge : incidentListGraph.getAllEdges()) {
+                if (expected[edge.from()] != Long.MAX_VALUE) {
+                    expected[edge.to()] = Math.min(expected[edge.to()], expected[edge.from()] + edge.weight());
+                }
+            }
+        }
+
+        var incidentListPaths = incidentListGraph.findShortestPaths(0);
+        var csrPaths = csrGraph.findShortestPaths(0);
+        for (int i = 0; i < verticesCount; i++) {
+            int expectedPath = (int) Math.min(expected[i], Integer.MAX_VALUE);
+            assertThat(incidentListPaths.get(i)).isEqualTo(expectedPath);
+            assertThat(csrPaths.get(i)).isEqualTo(expectedPath);
+        }
+    }
+
+    @Test
+    void largeShortestPathsTest() {
+        int side = 300;
+        var builder = new CsrGraph.Builder<Integer>(side * side, 2 * side * side);
+        for (int i = 0; i < side * side; i++) {
+            builder.addVertex(i);
+        }
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int id = row * side + column;
+                if (column + 1 < side) {
+                    builder.addEdge(id, id + 1, 1);
+                }
+                if (row + 1 < side) {
+                    builder.addEdge(id, id + side, 2);
+                }
+            }
+        }
+
+        long[] distances = builder.build().shortestDistances(0);
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                assertThat(distances[row * side + column]).isEqualTo(column + 2L * row);
+            }
+        }
+    }
+
+    @Test
+    void overflowingShortestPathsTest() {
+        var incidentListGraph = new IncidentListGraph<String>();
+        incidentListGraph.addVertex(null);
+        incidentListGraph.addVertex("a");
+        incidentListGraph.addVertex("b");
+        incidentListGraph.addVertex("unreachable");
+        incidentListGraph.addEdge(null, "a", Integer.MAX_VALUE);
+        incidentListGraph.addEdge("a", "b", Integer.MAX_VALUE);
+
+        var expected = new HashMap<String, Integer>();
+        expected.put(null, 0);
+        expected.put("a", Integer.MAX_VALUE);
+        expected.put("b", Integer.MAX_VALUE);
+        expected.put("unreachable", Integer.MAX_VALUE);
+        assertThat(incidentListGraph.findShortestPaths(null)).isEqualTo(expected);
+
+        var csrGraph = new CsrGraph<String>(incidentListGraph);
+        assertThat(csrGraph.findShortestPaths(null)).isEqualTo(expected);
+        assertThat(csrGraph.shortestDistances(csrGraph.vertexId(null))[csrGraph.vertexId("b")])
+            .isEqualTo(2L * Integer.MAX_VALUE);
+    }
+
+    @Test
+    void immutabilityTest() {
+        assertThatThrownBy(() -> graph.addVertex("e"))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> graph.addEdge("a", "c", 1))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> graph.removeEdge("a", "b"))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> graph.reweightEdge("a", "b", 1))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> graph.removeVertex("a"))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> graph.clear())
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> graph.getAllVertices().add("e"))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
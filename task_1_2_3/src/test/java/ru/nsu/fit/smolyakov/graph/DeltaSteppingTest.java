@@ -0,0 +1,110 @@
+package ru.nsu.fit.smolyakov.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import ru.nsu.fit.smolyakov.graph.adjacency_matrix.AdjacencyMatrixGraph;
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
+import ru.nsu.fit.smolyakov.graph.csr.DeltaStepping;
+import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
+
+class DeltaSteppingTest {
+    @Test
+    void someGraphTest() {
+        var vertices = TestLists.verticesSet();
+        vertices.remove(null);
+        vertices.add("imagine i am null");
+
+        var incidentListGraph = new IncidentListGraph<String>(vertices, TestLists.someGraphEdgesSet);
+        assertThat(incidentListGraph.findShortestPaths("c", ShortestPathsStrategy.DELTA_STEPPING))
+            .isEqualTo(TestLists.shortestPathsFromC);
+        assertThat(incidentListGraph.findShortestPaths("c", ShortestPathsStrategy.DIJKSTRA))
+            .isEqualTo(TestLists.shortestPathsFromC);
+
+        var adjacencyMatrixGraph = new AdjacencyMatrixGraph<String>(vertices, TestLists.someGraphEdgesSet);
+        assertThat(adjacencyMatrixGraph.findShortestPaths("c", ShortestPathsStrategy.DELTA_STEPPING))
+            .isEqualTo(TestLists.shortestPathsFromC);
+    }
+
+    @Test
+    void absentVertexTest() {
+        var graph = new CsrGraph<String>(TestLists.verticesSet(), TestLists.someGraphEdgesSet);
+        assertThat(graph.findShortestPaths("aboba", ShortestPathsStrategy.DELTA_STEPPING))
+            .containsOnlyKeys(TestLists.verticesSet())
+            .allSatisfy((vertex, distance) -> assertThat(distance).isEqualTo(Integer.MAX_VALUE));
+        assertThatThrownBy(() -> graph.shortestDistances(-1, ShortestPathsStrategy.DELTA_STEPPING))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void negativeWeightTest() {
+        var graph = new IncidentListGraph<String>(TestLists.verticesSet(), TestLists.someGraphEdgesSet);
+        graph.reweightEdge("a", "b", -1);
+        assertThatThrownBy(() -> graph.findShortestPaths("c", ShortestPathsStrategy.DELTA_STEPPING))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void randomGraphTest() {
+        var random = new Random(13);
+        int verticesCount = 20000;
+        var builder = new CsrGraph.Builder<Integer>(verticesCount, 5 * verticesCount);
+        for (int i = 0; i < verticesCount; i++) {
+            builder.addVertex(i);
+        }
+        for (int i = 0; i < 5 * verticesCount; i++) {
+            // zero weights and a few heavy edges
+            int weight = (i % 50 == 0) ? random.nextInt(1_000_000) : random.nextInt(100);
+            builder.addEdge(random.nextInt(verticesCount), random.nextInt(verticesCount), weight);
+        }
+        var graph = builder.build();
+
+        long[] expected = graph.shortestDistances(0);
+        assertThat(graph.shortestDistances(0, ShortestPathsStrategy.DELTA_STEPPING)).isEqualTo(expected);
+        for (int delta : new int[] {1, 7, 100, Integer.MAX_VALUE}) {
+            assertThat(DeltaStepping.shortestDistances(graph, 0, delta, ForkJoinPool.commonPool()))
+                .isEqualTo(expected);
+        }
+
+        var pool = new ForkJoinPool(3);
+        try {
+            assertThat(DeltaStepping.shortestDistances(graph, 0, 10, pool)).isEqualTo(expected);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void gridTest() {
+        int side = 200;
+        var builder = new CsrGraph.Builder<Integer>();
+        for (int i = 0; i < side * side; i++) {
+            builder.addVertex(i);
+        }
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int id = row * side + column;
+                if (column + 1 < side) {
+                    builder.addEdge(id, id + 1, 3);
+                    builder.addEdge(id + 1, id, 3);
+                }
+                if (row + 1 < side) {
+                    builder.addEdge(id, id + side, 5);
+                    builder.addEdge(id + side, id, 5);
+                }
+            }
+        }
+
+        long[] distances = builder.build().shortestDistances(0, ShortestPathsStrategy.DELTA_STEPPING);
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                assertThat(distances[row * side + column]).isEqualTo(3L * column + 5L * row);
+            }
+        }
+    }
+}
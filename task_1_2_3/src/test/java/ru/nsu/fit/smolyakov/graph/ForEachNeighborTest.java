@@ -0,0 +1,128 @@
+package ru.nsu.fit.smolyakov.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+
+import org.junit.jupiter.api.Test;
+
+import ru.nsu.fit.smolyakov.graph.adjacency_matrix.AdjacencyMatrixGraph;
+import ru.nsu.fit.smolyakov.graph.caching.CachingGraph;
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
+import ru.nsu.fit.smolyakov.graph.csr.GraphSnapshot;
+import ru.nsu.fit.smolyakov.graph.csr.VertexCodec;
+import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
+
+class ForEachNeighborTest {
+    static <V> Set<Edge<V>> collectNeighbors(Graph<V> graph, V vertex) {
+        Set<Edge<V>> edges = new HashSet<>();
+        assertThat(graph.forEachNeighbor(vertex, (to, weight) -> edges.add(new Edge<V>(vertex, to, weight))))
+            .isTrue();
+        return edges;
+    }
+
+    static <V> void assertNeighbors(Graph<V> graph) {
+        for (var vertex : graph.getAllVertices()) {
+            assertThat(collectNeighbors(graph, vertex)).isEqualTo(graph.getAdjacentEdges(vertex));
+        }
+    }
+
+    @Test
+    void someGraphTest() throws IOException, DataFormatException {
+        var incidentListGraph = new IncidentListGraph<String>(TestLists.verticesSet(), TestLists.someGraphEdgesSet);
+        var graphs = List.<Graph<String>>of(
+            incidentListGraph,
+            new AdjacencyMatrixGraph<String>(TestLists.verticesList(), TestLists.someGraphMatrix),
+            new CsrGraph<String>(incidentListGraph),
+            GraphSnapshot.read(ByteBuffer.wrap(GraphSnapshotTest.snapshotOf(incidentListGraph)),
+                               VertexCodec.strings()),
+            new CachingGraph<String>(incidentListGraph, 1)
+        );
+
+        for (var graph : graphs) {
+            assertNeighbors(graph);
+            assertThat(collectNeighbors(graph, "c"))
+                .containsExactlyInAnyOrder(new Edge<>("c", "a", 2), new Edge<>("c", "d", 4));
+            assertThat(collectNeighbors(graph, null)).isEmpty();
+            assertThat(graph.forEachNeighbor("e", (to, weight) -> {
+                throw new AssertionError("no such vertex");
+            })).isFalse();
+        }
+    }
+
+    @Test
+    void intNeighborsTest() {
+        var graph = new CsrGraph<String>(TestLists.verticesSet(), TestLists.someGraphEdgesSet);
+        var targets = new ArrayList<String>();
+        var weights = new ArrayList<Integer>();
+        graph.forEachNeighbor(graph.vertexId("c"), (to, weight) -> {
+            targets.add(graph.getVertex(to));
+            weights.add(weight);
+        });
+
+        // edges are sorted by target ids
+        assertThat(targets).containsExactlyInAnyOrder("a", "d");
+        assertThat(graph.vertexId(targets.get(0))).isLessThan(graph.vertexId(targets.get(1)));
+        assertThat(weights.get(targets.indexOf("a"))).isEqualTo(2);
+        assertThat(weights.get(targets.indexOf("d"))).isEqualTo(4);
+
+        assertThatThrownBy(() -> graph.forEachNeighbor(graph.verticesCount(), (to, weight) -> {}))
+            .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void removedVerticesTest() {
+        var random = new Random(50);
+        int verticesCount = 150;
+        var graph = new AdjacencyMatrixGraph<Integer>();
+        for (int i = 0; i < verticesCount; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < 2000; i++) {
+            graph.addEdge(random.nextInt(verticesCount), random.nextInt(verticesCount), random.nextInt(100));
+        }
+
+        // rows and columns of removed vertices are not reused
+        for (int i = 0; i < verticesCount; i += 3) {
+            graph.removeVertex(i);
+        }
+        graph.addVertex(-1);
+        graph.addEdge(-1, 1, 7);
+        graph.addEdge(1, -1, 8);
+
+        assertNeighbors(graph);
+        assertThat(collectNeighbors(graph, 1)).contains(new Edge<>(1, -1, 8));
+        assertThat(graph.forEachNeighbor(0, (to, weight) -> {})).isFalse();
+
+        var expected = new IncidentListGraph<Integer>(graph.getAllVertices(), graph.getAllEdges());
+        assertThat(graph).isEqualTo(expected);
+        for (var vertex : expected.getAllVertices()) {
+            assertThat(collectNeighbors(graph, vertex)).isEqualTo(collectNeighbors(expected, vertex));
+        }
+    }
+
+    @Test
+    void shortestPathsTest() {
+        // traversals enumerate edges by forEachNeighbor
+        var graph = new AdjacencyMatrixGraph<String>(TestLists.verticesList(), TestLists.someGraphMatrix);
+        Map<String, Integer> expected = new IncidentListGraph<String>(TestLists.verticesSet(),
+                                                                      TestLists.someGraphEdgesSet)
+            .findShortestPaths("c");
+
+        assertThat(graph.findShortestPaths("c")).isEqualTo(expected);
+        assertThat(graph.findShortestPath("c", "b").orElseThrow().length()).isEqualTo(3);
+
+        graph.addEdge("a", "d", -1);
+        assertThatThrownBy(() -> graph.findShortestPaths("a"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,141 @@
+package ru.nsu.fit.smolyakov.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ru.nsu.fit.smolyakov.graph.adjacency_matrix.AdjacencyMatrixGraph;
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
+import ru.nsu.fit.smolyakov.graph.csr.GraphSnapshot;
+import ru.nsu.fit.smolyakov.graph.csr.VertexCodec;
+import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
+
+class GraphSnapshotTest {
+    static byte[] snapshotOf(Graph<String> graph) throws IOException {
+        var out = new ByteArrayOutputStream();
+        GraphSnapshot.write(graph, VertexCodec.strings(), out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void bufferRoundTripTest() throws IOException, DataFormatException {
+        var graph = new AdjacencyMatrixGraph<>(TestLists.verticesList(), TestLists.someGraphMatrix);
+
+        var restored = GraphSnapshot.read(ByteBuffer.wrap(snapshotOf(graph)), VertexCodec.strings());
+
+        assertThat(restored).isEqualTo(graph);
+        assertThat(restored.hashCode()).isEqualTo(graph.hashCode());
+        assertThat(restored.getAdjacentEdges("c")).isEqualTo(graph.getAdjacentEdges("c"));
+        assertThat(restored.getAdjacentEdges("e")).isNull();
+        assertThat(restored.getEdgeWeight("d", "b")).hasValue(0);
+        assertThat(restored.getEdge("b", "a")).isEmpty();
+        assertThat(restored.vertexExists(null)).isTrue();
+
+        assertThatThrownBy(() -> restored.addVertex("e"))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void shortestPathsTest() throws IOException, DataFormatException {
+        var vertices = TestLists.verticesSet();
+        vertices.remove(null);
+        vertices.add("imagine i am null");
+        var graph = new IncidentListGraph<String>(vertices, TestLists.someGraphEdgesSet);
+
+        var restored = GraphSnapshot.read(ByteBuffer.wrap(snapshotOf(graph)), VertexCodec.strings());
+        assertThat(restored.findShortestPaths("c")).isEqualTo(TestLists.shortestPathsFromC);
+        assertThat(restored.findShortestPaths("c", ShortestPathsStrategy.DELTA_STEPPING))
+            .isEqualTo(TestLists.shortestPathsFromC);
+        assertThat(restored.findShortestPath("c", "b").map(Path::length)).hasValue(3L);
+    }
+
+    @Test
+    void fileRoundTripTest(@TempDir java.nio.file.Path dir) throws IOException, DataFormatException {
+        var random = new Random(48);
+        var builder = new CsrGraph.Builder<Long>();
+        for (long i = 0; i < 2000; i++) {
+            builder.addVertex(i * 1_000_000_007L);
+        }
+        for (int i = 0; i < 20000; i++) {
+            builder.addEdge(random.nextInt(2000), random.nextInt(2000), random.nextInt(100));
+        }
+        var graph = builder.build();
+
+        var file = dir.resolve("graph.bin");
+        GraphSnapshot.write(graph, VertexCodec.longs(), file);
+        var restored = GraphSnapshot.load(file, VertexCodec.longs());
+
+        assertThat(restored).isEqualTo(graph);
+        assertThat(restored.getAllEdges()).isEqualTo(graph.getAllEdges());
+        for (int source = 0; source < 2000; source += 97) {
+            assertThat(restored.shortestDistances(source)).isEqualTo(graph.shortestDistances(source));
+            assertThat(restored.shortestDistances(source, ShortestPathsStrategy.DELTA_STEPPING))
+                .isEqualTo(graph.shortestDistances(source));
+        }
+
+        // a mapped graph is written directly
+        var copy = dir.resolve("copy.bin");
+        GraphSnapshot.write(restored, VertexCodec.longs(), copy);
+        assertThat(java.nio.file.Files.readAllBytes(copy)).isEqualTo(java.nio.file.Files.readAllBytes(file));
+
+        GraphSnapshot.write(new IncidentListGraph<Integer>(), VertexCodec.integers(), file);
+        var empty = GraphSnapshot.load(file, VertexCodec.integers());
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.getAllEdges()).isEmpty();
+    }
+
+    @Test
+    void corruptedSnapshotTest() throws IOException {
+        byte[] bytes = snapshotOf(new AdjacencyMatrixGraph<>(TestLists.verticesList(), TestLists.someGraphMatrix));
+
+        var truncated = Arrays.copyOf(bytes, bytes.length - 3);
+        assertThatThrownBy(() -> GraphSnapshot.read(ByteBuffer.wrap(truncated), VertexCodec.strings()))
+            .isInstanceOf(DataFormatException.class);
+
+        var header = Arrays.copyOf(bytes, 10);
+        assertThatThrownBy(() -> GraphSnapshot.read(ByteBuffer.wrap(header), VertexCodec.strings()))
+            .isInstanceOf(DataFormatException.class);
+
+        var wrongMagic = bytes.clone();
+        wrongMagic[0]++;
+        assertThatThrownBy(() -> GraphSnapshot.read(ByteBuffer.wrap(wrongMagic), VertexCodec.strings()))
+            .isInstanceOf(DataFormatException.class)
+            .hasMessage("not a graph snapshot");
+
+        // the second offset
+        var wrongOffsets = bytes.clone();
+        wrongOffsets[27] = 100;
+        assertThatThrownBy(() -> GraphSnapshot.read(ByteBuffer.wrap(wrongOffsets), VertexCodec.strings()))
+            .isInstanceOf(DataFormatException.class)
+            .hasMessage("incorrect offsets");
+
+        // the first target, after a header and six offsets
+        var wrongTargets = bytes.clone();
+        wrongTargets[44] = 0x7f;
+        assertThatThrownBy(() -> GraphSnapshot.read(ByteBuffer.wrap(wrongTargets), VertexCodec.strings()))
+            .isInstanceOf(DataFormatException.class)
+            .hasMessage("incorrect targets");
+
+        // a length of the first vertex, after six targets and six weights,
+        // must not make a huge array allocated
+        assertThat(ByteBuffer.wrap(bytes).getInt(92)).isEqualTo(1);
+        var wrongLength = bytes.clone();
+        wrongLength[92] = 0x7f;
+        wrongLength[93] = (byte) 0xff;
+        assertThatThrownBy(() -> GraphSnapshot.read(ByteBuffer.wrap(wrongLength), VertexCodec.strings()))
+            .isInstanceOf(DataFormatException.class)
+            .hasMessage("snapshot is truncated or corrupted");
+        wrongLength[92] = (byte) 0xff;
+        assertThatThrownBy(() -> GraphSnapshot.read(ByteBuffer.wrap(wrongLength), VertexCodec.strings()))
+            .isInstanceOf(DataFormatException.class);
+    }
+}
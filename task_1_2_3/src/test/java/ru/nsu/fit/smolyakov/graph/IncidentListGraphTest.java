@@ -6,6 +6,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -105,6 +106,43 @@ class IncidentListGraphTest {
         assertThat(emptyGraph.addEdge(new Edge<String>("a", "b", 1))).isTrue();
     }
 
+    @Test
+    void addExistingEdgeTest() {
+        assertThat(graph.addEdge("a", "b", 666)).isFalse();
+        assertThat(graph.getEdgeWeight("a", "b")).isEqualTo(OptionalInt.of(1));
+        assertThat(graph.edgesCount()).isEqualTo(TestLists.someGraphEdgesSet.size());
+    }
+
+    @Test
+    void equalNotSameVerticesTest() {
+        var integerGraph = new IncidentListGraph<Integer>();
+        integerGraph.addVertex(1000);
+        integerGraph.addVertex(2000);
+        integerGraph.addEdge(1000, 2000, 1);
+
+        assertThat(integerGraph.edgeExists(Integer.valueOf(1000), Integer.valueOf(2000))).isTrue();
+        assertThat(integerGraph.removeEdge(Integer.valueOf(1000), Integer.valueOf(2000)))
+            .isEqualTo(OptionalInt.of(1));
+        assertThat(integerGraph.edgeExists(1000, 2000)).isFalse();
+    }
+
+    @Test
+    void hubVertexTest() {
+        var hubGraph = new IncidentListGraph<Integer>();
+        hubGraph.addVertex(-1);
+        for (int i = 0; i < 1_000_000; i++) {
+            hubGraph.addVertex(i);
+            hubGraph.addEdge(-1, i, i);
+        }
+
+        for (int i = 0; i < 1_000_000; i += 1000) {
+            assertThat(hubGraph.getEdge(-1, i)).isEqualTo(Optional.of(new Edge<>(-1, i, i)));
+            assertThat(hubGraph.reweightEdge(-1, i, 0)).isEqualTo(OptionalInt.of(i));
+            assertThat(hubGraph.removeEdge(-1, i)).isEqualTo(OptionalInt.of(0));
+        }
+        assertThat(hubGraph.getAdjacentEdges(-1)).hasSize(999_000);
+    }
+
     @Test 
     void getEdgeTest() {
         assertThat(graph.getEdge("a", "b")).isEqualTo(Optional.of(new Edge<String>("a", "b", 1)));
@@ -143,6 +181,41 @@ class IncidentListGraphTest {
         assertThat(graph.getAllVertices()).isEqualTo(TestLists.verticesSetNoC());
     }
 
+    @Test
+    void getIncomingEdgesTest() {
+        assertThat(graph.getIncomingEdges("c"))
+            .isEqualTo(Set.of(new Edge<>("b", "c", 5), new Edge<>("d", "c", 4)));
+        assertThat(graph.getIncomingEdges(null)).isEmpty();
+        assertThat(graph.getIncomingEdges("aboba")).isNull();
+
+        graph.removeEdge("b", "c");
+        graph.reweightEdge("d", "c", 100);
+        assertThat(graph.getIncomingEdges("c"))
+            .containsExactly(new Edge<>("d", "c", 100));
+
+        graph.removeVertex("d");
+        assertThat(graph.getIncomingEdges("c")).isEmpty();
+        assertThat(graph.getIncomingEdges("b"))
+            .containsExactly(new Edge<>("a", "b", 1));
+    }
+
+    @Test
+    void removeHubVertexTest() {
+        var hubGraph = new IncidentListGraph<Integer>();
+        hubGraph.addVertex(-1);
+        for (int i = 0; i < 100_000; i++) {
+            hubGraph.addVertex(i);
+            hubGraph.addEdge(i, -1, i);
+            hubGraph.addEdge(-1, i, i);
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            hubGraph.removeVertex(i);
+        }
+        assertThat(hubGraph.getAdjacentEdges(-1)).isEmpty();
+        assertThat(hubGraph.getIncomingEdges(-1)).isEmpty();
+    }
+
     @Test
     void removeNonexistantVertexTest() {
         assertThat(graph.removeVertex("aboba")).isFalse();
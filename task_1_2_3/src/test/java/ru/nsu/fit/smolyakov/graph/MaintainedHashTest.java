@@ -0,0 +1,97 @@
+package ru.nsu.fit.smolyakov.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ru.nsu.fit.smolyakov.graph.adjacency_matrix.AdjacencyMatrixGraph;
+import ru.nsu.fit.smolyakov.graph.caching.CachingGraph;
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
+import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
+
+class MaintainedHashTest {
+    static <V> void assertMaintained(AbstractGraph<V> graph) {
+        assertThat(graph.edgesCount()).isEqualTo(graph.getAllEdges().size());
+        assertThat(graph.hashCode())
+            .isEqualTo(graph.getAllVertices().hashCode() + graph.getAllEdges().hashCode());
+    }
+
+    @Test
+    void someGraphTest() {
+        var vertices = TestLists.verticesSet();
+        var graphs = List.<AbstractGraph<String>>of(
+            new IncidentListGraph<String>(vertices, TestLists.someGraphEdgesSet),
+            new AdjacencyMatrixGraph<String>(vertices, TestLists.someGraphEdgesSet),
+            new IncidentListGraph<String>(TestLists.verticesList(), TestLists.someGraphMatrix),
+            new AdjacencyMatrixGraph<String>(TestLists.verticesList(), TestLists.someGraphMatrix),
+            new CsrGraph<String>(vertices, TestLists.someGraphEdgesSet),
+            new CachingGraph<String>(new IncidentListGraph<String>(vertices, TestLists.someGraphEdgesSet), 1)
+        );
+
+        for (var graph : graphs) {
+            assertMaintained(graph);
+            assertThat(graph.hashCode()).isEqualTo(graphs.get(0).hashCode());
+            assertThat(graph).isEqualTo(graphs.get(0));
+        }
+    }
+
+    @Test
+    void fastRejectTest() {
+        var graph = new IncidentListGraph<String>(TestLists.verticesSet(), TestLists.someGraphEdgesSet);
+        var other = new AdjacencyMatrixGraph<String>(TestLists.verticesSet(), TestLists.someGraphEdgesSet);
+
+        other.reweightEdge("a", "b", 2);
+        assertThat(graph).isNotEqualTo(other);
+        other.reweightEdge("a", "b", 1);
+        assertThat(graph).isEqualTo(other);
+
+        other.removeEdge("a", "b");
+        other.addEdge("b", "a", 1);
+        assertThat(graph).isNotEqualTo(other);
+    }
+
+    @Test
+    void randomMutationsTest() {
+        var random = new Random(17);
+        int verticesCount = 20;
+        for (AbstractGraph<Integer> graph : List.<AbstractGraph<Integer>>of(
+                 new IncidentListGraph<Integer>(), new AdjacencyMatrixGraph<Integer>())) {
+            for (int step = 0; step < 3000; step++) {
+                int from = random.nextInt(verticesCount);
+                int to = random.nextInt(verticesCount);
+                switch (random.nextInt(7)) {
+                    case 0, 1 -> graph.addEdge(from, to, random.nextInt(10));
+                    case 2 -> graph.removeEdge(from, to);
+                    case 3 -> graph.reweightEdge(from, to, random.nextInt(10));
+                    case 4 -> graph.addVertex(from);
+                    case 5 -> {
+                        if (random.nextInt(5) == 0) {
+                            graph.removeVertex(from);
+                        }
+                    }
+                    default -> {
+                        var edges = graph.getAdjacentEdges(from);
+                        if (graph instanceof IncidentListGraph && edges != null) {
+                            var iter = edges.iterator();
+                            if (iter.hasNext()) {
+                                iter.next();
+                                iter.remove();
+                            }
+                        }
+                    }
+                }
+                assertMaintained(graph);
+            }
+
+            var copy = new IncidentListGraph<Integer>(graph.getAllVertices(), graph.getAllEdges());
+            assertThat(copy.hashCode()).isEqualTo(graph.hashCode());
+            assertThat(copy).isEqualTo(graph);
+
+            graph.clear();
+            assertMaintained(graph);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package ru.nsu.fit.smolyakov.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToLongFunction;
+
+import org.junit.jupiter.api.Test;
+
+import ru.nsu.fit.smolyakov.graph.adjacency_matrix.AdjacencyMatrixGraph;
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
+import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
+
+class ShortestPathTest {
+    List<Graph<String>> someGraphs() {
+        return List.of(
+            new IncidentListGraph<String>(TestLists.verticesSet(), TestLists.someGraphEdgesSet),
+            new AdjacencyMatrixGraph<String>(TestLists.verticesSet(), TestLists.someGraphEdgesSet),
+            new CsrGraph<String>(TestLists.verticesSet(), TestLists.someGraphEdgesSet)
+        );
+    }
+
+    @Test
+    void someGraphTest() {
+        for (var graph : someGraphs()) {
+            assertThat(graph.findShortestPath("a", "d"))
+                .isEqualTo(Optional.of(new Path<>(List.of("a", "b", "c", "d"), 10)));
+            assertThat(graph.findShortestPath("d", "a"))
+                .isEqualTo(Optional.of(new Path<>(List.of("d", "c", "a"), 6)));
+            assertThat(graph.findShortestPath("c", "c"))
+                .isEqualTo(Optional.of(new Path<>(List.of("c"), 0)));
+
+            assertThat(graph.findShortestPath("a", null)).isEqualTo(Optional.empty());
+            assertThat(graph.findShortestPath("a", "aboba")).isEqualTo(Optional.empty());
+            assertThat(graph.findShortestPath("aboba", "a")).isEqualTo(Optional.empty());
+        }
+    }
+
+    @Test
+    void negativeWeightTest() {
+        var graph = new IncidentListGraph<String>(TestLists.verticesSet(), TestLists.someGraphEdgesSet);
+        graph.reweightEdge("c", "d", -1);
+        assertThatThrownBy(() -> graph.findShortestPath("a", "d"))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new CsrGraph<String>(graph).findShortestPath("a", "d"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void earlyExitTest() {
+        var explored = new AtomicInteger();
+        var graph = new IncidentListGraph<Integer>() {
+            @Override
+            public boolean forEachNeighbor(Integer vertex, ObjIntConsumer<? super Integer> action) {
+                explored.incrementAndGet();
+                return super.forEachNeighbor(vertex, action);
+            }
+        };
+
+        // a chain 0 -> 1 -> ... -> 999
+        for (int i = 0; i < 1000; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i + 1 < 1000; i++) {
+            graph.addEdge(i, i + 1, 1);
+        }
+
+        assertThat(graph.findShortestPath(0, 10).map(Path::length)).isEqualTo(Optional.of(10L));
+        assertThat(explored.get()).isEqualTo(10);
+    }
+
+    @Test
+    void astarGridTest() {
+        int side = 100;
+        var random = new Random(3);
+        var builder = new CsrGraph.Builder<Integer>();
+        for (int i = 0; i < side * side; i++) {
+            builder.addVertex(i);
+        }
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int id = row * side + column;
+                if (column + 1 < side) {
+                    int weight = 10 + random.nextInt(3);
+                    builder.addEdge(id, id + 1, weight);
+                    builder.addEdge(id + 1, id, weight);
+                }
+                if (row + 1 < side) {
+                    int weight = 10 + random.nextInt(3);
+                    builder.addEdge(id, id + side, weight);
+                    builder.addEdge(id + side, id, weight);
+                }
+            }
+        }
+        var csrGraph = builder.build();
+        var incidentListGraph = new IncidentListGraph<Integer>(
+            csrGraph.getAllVertices(), csrGraph.getAllEdges());
+
+        int from = 10 * side + 10;
+        int to = 20 * side + 30;
+        var estimated = new AtomicInteger();
+        // manhattan distance is consistent, as each edge is not lighter than 10
+        ToLongFunction<Integer> manhattan = (vertex) -> {
+            estimated.incrementAndGet();
+            return 10L * (Math.abs(vertex / side - to / side) + Math.abs(vertex % side - to % side));
+        };
+
+        long expected = csrGraph.findShortestPaths(from).get(to);
+        for (Graph<Integer> graph : List.of(csrGraph, incidentListGraph)) {
+            var dijkstraPath = graph.findShortestPath(from, to).orElseThrow();
+            estimated.set(0);
+            var astarPath = graph.findShortestPath(from, to, manhattan).orElseThrow();
+
+            assertThat(dijkstraPath.length()).isEqualTo(expected);
+            assertThat(astarPath.length()).isEqualTo(expected);
+            assertThat(astarPath.vertices()).startsWith(from).endsWith(to);
+            long length = 0;
+            for (int i = 1; i < astarPath.vertices().size(); i++) {
+                length += graph.getEdgeWeight(astarPath.vertices().get(i - 1), astarPath.vertices().get(i))
+                    .getAsInt();
+            }
+            assertThat(length).isEqualTo(expected);
+
+            // only a neighbourhood of a straight line is explored
+            assertThat(estimated.get()).isLessThan(side * side / 4);
+        }
+    }
+}
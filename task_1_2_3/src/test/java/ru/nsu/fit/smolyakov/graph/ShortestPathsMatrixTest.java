@@ -0,0 +1,121 @@
+package ru.nsu.fit.smolyakov.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ru.nsu.fit.smolyakov.graph.adjacency_matrix.AdjacencyMatrixGraph;
+import ru.nsu.fit.smolyakov.graph.csr.CsrGraph;
+
+class ShortestPathsMatrixTest {
+    AdjacencyMatrixGraph<String> graph;
+
+    @BeforeEach
+    void init() {
+        var vertices = TestLists.verticesSet();
+        vertices.remove(null);
+        vertices.add("imagine i am null");
+        graph = new AdjacencyMatrixGraph<String>(vertices, TestLists.someGraphEdgesSet);
+    }
+
+    @Test
+    void someGraphTest() {
+        var paths = graph.findAllShortestPaths();
+        assertThat(paths.size()).isEqualTo(5);
+        assertThat(paths.hasPaths()).isFalse();
+        assertThat(paths.getShortestPaths("c")).isEqualTo(TestLists.shortestPathsFromC);
+        for (var vertex : paths.getVertices()) {
+            assertThat(paths.getShortestPaths(vertex)).isEqualTo(graph.findShortestPaths(vertex));
+        }
+
+        assertThat(paths.getDistance("d", "a")).isEqualTo(6);
+        assertThat(paths.getDistance(paths.vertexId("d"), paths.vertexId("a"))).isEqualTo(6);
+        assertThat(paths.getDistance("a", "imagine i am null")).isEqualTo(Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> paths.getDistance("a", "aboba"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> paths.getPath("a", "b"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void getPathTest() {
+        var paths = graph.findAllShortestPaths(true);
+        assertThat(paths.getPath("d", "a")).isEqualTo(Optional.of(List.of("d", "c", "a")));
+        assertThat(paths.getPath("a", "d")).isEqualTo(Optional.of(List.of("a", "b", "c", "d")));
+        assertThat(paths.getPath("a", "a")).isEqualTo(Optional.of(List.of("a")));
+        assertThat(paths.getPath("a", "imagine i am null")).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    void removedVertexTest() {
+        graph.removeVertex("b");
+        var paths = graph.findAllShortestPaths(true);
+        assertThat(paths.size()).isEqualTo(4);
+        assertThat(paths.vertexId("b")).isEqualTo(-1);
+        assertThat(paths.getDistance("d", "a")).isEqualTo(6);
+        assertThat(paths.getDistance("a", "c")).isEqualTo(Integer.MAX_VALUE);
+        assertThat(paths.getPath("a", "c")).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    void negativeWeightsTest() {
+        graph.reweightEdge("c", "d", -3);
+        var paths = graph.findAllShortestPaths(true);
+        assertThat(paths.getDistance("c", "b")).isEqualTo(-3);
+        assertThat(paths.getPath("c", "b")).isEqualTo(Optional.of(List.of("c", "d", "b")));
+
+        graph.reweightEdge("d", "c", -4);
+        assertThatThrownBy(() -> graph.findAllShortestPaths())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void randomGraphTest() {
+        // large enough to be split into blocks and run in parallel
+        var random = new Random(5);
+        int verticesCount = 300;
+        var matrix = new Integer[verticesCount][verticesCount];
+        var vertices = new ArrayList<Integer>();
+        for (int i = 0; i < verticesCount; i++) {
+            vertices.add(i);
+            for (int j = 0; j < verticesCount; j++) {
+                if (random.nextInt(50) == 0) {
+                    matrix[i][j] = random.nextInt(1000);
+                }
+            }
+        }
+        var graph = new AdjacencyMatrixGraph<Integer>(vertices, matrix);
+        var csrGraph = new CsrGraph<Integer>(vertices, matrix);
+
+        var paths = graph.findAllShortestPaths(true);
+        for (int from = 0; from < verticesCount; from++) {
+            long[] expected = csrGraph.shortestDistances(csrGraph.vertexId(from));
+            for (int to = 0; to < verticesCount; to++) {
+                long distance = expected[csrGraph.vertexId(to)];
+                assertThat(paths.getDistance(paths.vertexId(from), paths.vertexId(to)))
+                    .isEqualTo((int) Math.min(distance, Integer.MAX_VALUE));
+
+                var path = paths.getPath(from, to);
+                if (path.isPresent()) {
+                    var pathVertices = path.get();
+                    int length = 0;
+                    for (int i = 1; i < pathVertices.size(); i++) {
+                        length += graph.getEdgeWeight(pathVertices.get(i - 1), pathVertices.get(i))
+                            .getAsInt();
+                    }
+                    assertThat(length).isEqualTo(distance);
+                } else {
+                    assertThat(distance).isEqualTo(Long.MAX_VALUE);
+                }
+            }
+        }
+    }
+}
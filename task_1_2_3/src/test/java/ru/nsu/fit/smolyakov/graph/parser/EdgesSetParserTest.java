@@ -27,6 +27,8 @@ public class EdgesSetParserTest {
 
         assertThat(graphParser.toGraph())
             .isEqualTo(new IncidentListGraph<>(TestLists.verticesSet(), TestLists.someGraphEdgesSet));
+        assertThat(graphParser.toCsrGraph())
+            .isEqualTo(graphParser.toGraph());
     }
 
     @Test
@@ -0,0 +1,84 @@
+package ru.nsu.fit.smolyakov.graph.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ru.nsu.fit.smolyakov.graph.TestLists;
+import ru.nsu.fit.smolyakov.graph.adjacency_matrix.AdjacencyMatrixGraph;
+
+public class MappedAdjacencyMatrixParserTest {
+    static final Path RESOURCES = Path.of("src/test/resources/ru/nsu/fit/smolyakov/graph/parser");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void mappedAdjacencyMatrixParserTest() throws DataFormatException, IOException {
+        var graphParser = new MappedAdjacencyMatrixParser(RESOURCES.resolve("AdjacencyMatrixCorrect.txt"));
+
+        var expected = new AdjacencyMatrixGraph<>(TestLists.verticesList(), TestLists.someGraphMatrix);
+        assertThat(graphParser.toCsrGraph()).isEqualTo(expected);
+        assertThat(graphParser.toGraph()).isEqualTo(expected);
+    }
+
+    @Test
+    void mappedAdjacencyMatrixParserTestIncorrect() throws IOException {
+        assertThatThrownBy(() -> new MappedAdjacencyMatrixParser(RESOURCES.resolve("AdjacencyMatrixIncorrect.txt")))
+            .isInstanceOf(DataFormatException.class)
+            .hasMessageContaining("line 7");
+
+        var file = tempDir.resolve("matrix.txt");
+        for (var incorrect : new String[] {
+                 "a b\n1 2\n",
+                 "a b\n1 2\n3 4\n5 6\n",
+                 "a b\n1 2 3\n3 4\n",
+                 "a b\n1 x\n3 4\n"}) {
+            Files.writeString(file, incorrect);
+            assertThatThrownBy(() -> new MappedAdjacencyMatrixParser(file))
+                .isInstanceOf(DataFormatException.class);
+        }
+    }
+
+    @Test
+    void windowsTest() throws DataFormatException, IOException {
+        var random = new Random(46);
+        int verticesCount = 60;
+
+        var text = new StringBuilder();
+        var expected = new AdjacencyMatrixGraph<String>();
+        for (int i = 0; i < verticesCount; i++) {
+            text.append("v").append(i).append(' ');
+            expected.addVertex("v" + i);
+        }
+        text.append('\n');
+
+        for (int from = 0; from < verticesCount; from++) {
+            for (int to = 0; to < verticesCount; to++) {
+                if (random.nextInt(4) == 0) {
+                    int weight = random.nextInt(1000);
+                    text.append(weight).append(' ');
+                    expected.addEdge("v" + from, "v" + to, weight);
+                } else {
+                    text.append("!nil ");
+                }
+            }
+            text.append("\r\n");
+        }
+
+        var file = tempDir.resolve("large.txt");
+        Files.writeString(file, text);
+
+        for (int window : new int[] {500, 4097, MappedWindows.DEFAULT_WINDOW}) {
+            assertThat(new MappedAdjacencyMatrixParser(file, window).toCsrGraph()).isEqualTo(expected);
+        }
+    }
+}
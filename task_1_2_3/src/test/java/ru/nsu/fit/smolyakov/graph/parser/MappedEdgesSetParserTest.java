@@ -0,0 +1,113 @@
+package ru.nsu.fit.smolyakov.graph.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ru.nsu.fit.smolyakov.graph.TestLists;
+import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
+
+public class MappedEdgesSetParserTest {
+    static final Path RESOURCES = Path.of("src/test/resources/ru/nsu/fit/smolyakov/graph/parser");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void mappedEdgesListParserTest() throws DataFormatException, IOException {
+        var graphParser = new MappedEdgesSetParser(RESOURCES.resolve("EdgesListCorrect.txt"));
+
+        var expected = new IncidentListGraph<>(TestLists.verticesSet(), TestLists.someGraphEdgesSet);
+        assertThat(graphParser.toCsrGraph()).isEqualTo(expected);
+        assertThat(graphParser.toGraph()).isEqualTo(expected);
+    }
+
+    @Test
+    void mappedEdgesListParserTestIncorrect() {
+        assertThatThrownBy(() -> new MappedEdgesSetParser(RESOURCES.resolve("EdgesListIncorrect.txt")))
+            .isInstanceOf(DataFormatException.class)
+            .hasMessageContaining("line 6");
+        assertThatThrownBy(() -> new MappedEdgesSetParser(RESOURCES.resolve("Absent.txt")))
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void formatTest() throws DataFormatException, IOException {
+        var file = tempDir.resolve("graph.txt");
+
+        Files.writeString(file, "");
+        assertThat(new MappedEdgesSetParser(file).toCsrGraph().isEmpty()).isTrue();
+
+        Files.writeString(file, "\u0430\u0431 b !nil b\r\n\ta->b:-3  \r\n\u0430\u0431 -> c : 1\n!nil -> b : 7");
+        var graph = new MappedEdgesSetParser(file).toCsrGraph();
+        assertThat(graph.getAllVertices()).containsExactlyInAnyOrder("\u0430\u0431", "b", null);
+        assertThat(graph.edgesCount()).isEqualTo(1);
+        assertThat(graph.getEdgeWeight(null, "b")).hasValue(7);
+
+        for (var incorrect : new String[] {
+                 "a b\na -> b",
+                 "a b\na -> b : 1 2",
+                 "a b\na b : 1",
+                 "a b\na -> : 1",
+                 "a b\na -> b : 99999999999",
+                 "a : b\n"}) {
+            Files.writeString(file, incorrect);
+            assertThatThrownBy(() -> new MappedEdgesSetParser(file))
+                .isInstanceOf(DataFormatException.class);
+        }
+    }
+
+    @Test
+    void windowsTest() throws DataFormatException, IOException {
+        var random = new Random(46);
+        int verticesCount = 100;
+
+        var text = new StringBuilder();
+        for (int i = 0; i < verticesCount; i++) {
+            text.append("v").append(i).append(' ');
+        }
+        text.append('\n');
+
+        var expected = new IncidentListGraph<String>();
+        for (int i = 0; i < verticesCount; i++) {
+            expected.addVertex("v" + i);
+        }
+        for (int i = 0; i < 5000; i++) {
+            var from = "v" + random.nextInt(verticesCount);
+            var to = "v" + random.nextInt(verticesCount);
+            int weight = random.nextInt(1000);
+            // the first one of same edges is kept, but the old parser keeps an arbitrary one
+            if (expected.edgeExists(from, to)) {
+                continue;
+            }
+            if (i % 100 == 0) {
+                text.append("# ").append(i).append('\n');
+            }
+            text.append(from).append(" -> ").append(to).append(" : ").append(weight).append('\n');
+            expected.addEdge(from, to, weight);
+        }
+
+        var file = tempDir.resolve("large.txt");
+        Files.writeString(file, text);
+
+        // windows are cut somewhere inside lines
+        for (int window : new int[] {1000, 4097, MappedWindows.DEFAULT_WINDOW}) {
+            assertThat(new MappedEdgesSetParser(file, window).toCsrGraph()).isEqualTo(expected);
+        }
+        assertThat(new MappedEdgesSetParser(file).toCsrGraph())
+            .isEqualTo(new EdgesSetParser(new FileReader(file.toFile())).toCsrGraph());
+
+        assertThatThrownBy(() -> new MappedEdgesSetParser(file, 100))
+            .isInstanceOf(DataFormatException.class)
+            .hasMessageContaining("too long");
+    }
+}
@@ -0,0 +1,91 @@
+package ru.nsu.fit.smolyakov.graph.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.DataFormatException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ru.nsu.fit.smolyakov.graph.TestLists;
+import ru.nsu.fit.smolyakov.graph.incident_list.IncidentListGraph;
+
+public class ParallelEdgesSetParserTest {
+    static final Path RESOURCES = Path.of("src/test/resources/ru/nsu/fit/smolyakov/graph/parser");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parallelEdgesListParserTest() throws DataFormatException, IOException {
+        var graphParser = new ParallelEdgesSetParser(RESOURCES.resolve("EdgesListCorrect.txt"));
+
+        var expected = new IncidentListGraph<>(TestLists.verticesSet(), TestLists.someGraphEdgesSet);
+        assertThat(graphParser.toCsrGraph()).isEqualTo(expected);
+        assertThat(graphParser.toGraph()).isEqualTo(expected);
+
+        var file = tempDir.resolve("empty.txt");
+        Files.writeString(file, "");
+        assertThat(new ParallelEdgesSetParser(file).toCsrGraph().isEmpty()).isTrue();
+        Files.writeString(file, "a b");
+        assertThat(new ParallelEdgesSetParser(file).toCsrGraph().verticesCount()).isEqualTo(2);
+    }
+
+    @Test
+    void parallelEdgesListParserTestIncorrect() {
+        assertThatThrownBy(() -> new ParallelEdgesSetParser(RESOURCES.resolve("EdgesListIncorrect.txt")))
+            .isInstanceOf(DataFormatException.class);
+    }
+
+    @Test
+    void chunksTest() throws DataFormatException, IOException {
+        var random = new Random(47);
+        int verticesCount = 300;
+
+        var text = new StringBuilder();
+        for (int i = 0; i < verticesCount; i++) {
+            text.append("v").append(i).append(' ');
+        }
+        text.append("\n# edges with same vertices are allowed, the first one is kept\n");
+        for (int i = 0; i < 20000; i++) {
+            text.append("v").append(random.nextInt(verticesCount))
+                .append(" -> v").append(random.nextInt(verticesCount))
+                .append(" : ").append(random.nextInt(1000)).append('\n');
+        }
+
+        var file = tempDir.resolve("large.txt");
+        Files.writeString(file, text);
+        var expected = new MappedEdgesSetParser(file).toCsrGraph();
+
+        var pool = new ForkJoinPool(4);
+        try {
+            // chunks are cut somewhere inside lines, and then moved to their ends
+            for (long minChunk : new long[] {1, 777, 4096, ParallelEdgesSetParser.MIN_CHUNK}) {
+                assertThat(new ParallelEdgesSetParser(file, pool, minChunk).toCsrGraph())
+                    .isEqualTo(expected);
+            }
+
+            text.append("v1 -> v2 : 3 4\n");
+            for (int i = 0; i < 100; i++) {
+                text.append("v1 -> v2 : 3\n");
+            }
+            Files.writeString(file, text);
+            // lines are numbered from the beginning of a file, as a single parser does
+            for (long minChunk : new long[] {1, 777, 1000, ParallelEdgesSetParser.MIN_CHUNK}) {
+                assertThatThrownBy(() -> new ParallelEdgesSetParser(file, pool, minChunk))
+                    .isInstanceOf(DataFormatException.class)
+                    .hasMessage("unexpected symbols at the end of a line at line 20003");
+            }
+            assertThatThrownBy(() -> new MappedEdgesSetParser(file))
+                .hasMessage("unexpected symbols at the end of a line at line 20003");
+        } finally {
+            pool.shutdown();
+        }
+    }
+}